@@ -0,0 +1,29 @@
+package thd.game.bin;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks with allocation profiling. The benchmarks use a headless GameView, so no display is needed.
+ */
+public class Benchmarks {
+
+    /**
+     * Main methode.
+     *
+     * @param args optional regular expression that selects the benchmarks, e.g. <code>GameViewBenchmark</code>.
+     * @throws RunnerException if a benchmark fails.
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "thd\\..*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend("-Djava.awt.headless=true", "-Xmx2g")
+                .forks(1)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,66 @@
+package thd.game.managers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import thd.gameobjects.movable.Rock;
+import thd.gameobjects.movable.Triangle;
+import thd.gameview.GameView;
+
+/**
+ * Measures one update of all game objects and the collision detection on its own. Half of the objects are flying
+ * Triangles, the other half are Rocks spread over the ground, plus the Rover.
+ */
+@State(Scope.Thread)
+public class GameObjectManagerBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"100", "500", "2000"})
+    private int numberOfGameObjects;
+
+    private GameObjectManager gameObjectManager;
+    private SpatialHashGrid spatialHashGrid;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GameView gameView = new GameView(true);
+        GamePlayManager gamePlayManager = new GamePlayManager(gameView, SEED,
+                thd.game.level.Level.Difficulty.STANDARD);
+        gameObjectManager = new GameObjectManager(gameView, gamePlayManager);
+        gamePlayManager.setGameObjectManager(gameObjectManager);
+        spatialHashGrid = new SpatialHashGrid();
+        gameObjectManager.addGameObject(gameObjectManager.rover);
+        for (int index = 1; index < numberOfGameObjects; index++) {
+            if (index % 2 == 0) {
+                gameObjectManager.addGameObject(new Triangle(gameView, gamePlayManager));
+            } else {
+                Rock rock = new Rock(gameView, gamePlayManager);
+                rock.getPosition().x = index * GameView.WIDTH / (double) numberOfGameObjects;
+                gameObjectManager.addGameObject(rock);
+            }
+        }
+        gameObjectManager.updateGameObjects();
+    }
+
+    @Benchmark
+    public void updateGameObjects() {
+        gameObjectManager.updateGameObjects();
+    }
+
+    @Benchmark
+    public void detectCollisionsAndNotifyGameObjects() {
+        GameObjectStore gameObjects = gameObjectManager.gameObjects;
+        for (int index = 0; index < gameObjects.numberOfCollidables(); index++) {
+            gameObjects.getCollidables()[index].updateHitBoxPosition();
+        }
+        spatialHashGrid.detectCollisionsAndNotifyGameObjects(gameObjects.getCollidables(),
+                gameObjects.numberOfCollidables());
+        // Rocks touching the Rover destroy themselves. The lists are never applied here, so every invocation must start
+        // with them empty again.
+        gameObjectManager.toAdd.clear();
+        gameObjectManager.toRemove.clear();
+    }
+}
@@ -0,0 +1,19 @@
+package thd.gameobjects.base;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the distance between two positions, which the flying objects calculate every tick.
+ */
+@State(Scope.Thread)
+public class PositionBenchmark {
+    private final Position position = new Position(120, 340);
+    private final Position targetPosition = new Position(700, 100);
+
+    @Benchmark
+    public double distance() {
+        return position.distance(targetPosition);
+    }
+}
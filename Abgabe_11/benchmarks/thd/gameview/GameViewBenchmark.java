@@ -0,0 +1,107 @@
+package thd.gameview;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.awt.*;
+
+/**
+ * Measures the hot paths inside the GameView with a headless GameView: timers, text from the glyph atlas, the text
+ * image cache for rotated text and drawing a frame with all kinds of print objects.
+ */
+@State(Scope.Thread)
+public class GameViewBenchmark {
+    private static final double TEXT_ROTATION = 15;
+    private static final double[] X_COORDINATES = {10, 60, 110, 60};
+    private static final double[] Y_COORDINATES = {10, 60, 10, -40};
+
+    private GameView gameView;
+    private GameView.TimerHandle timer;
+    private Object owner;
+    private int numberOfTexts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gameView = new GameView(true);
+        owner = new Object();
+        timer = gameView.createTimer("benchmark", owner);
+        gameView.activateTimer(timer, Long.MAX_VALUE / 2);
+        gameView.activateTimer("benchmark-name", owner, Long.MAX_VALUE / 2);
+        gameView.addImageToCanvas("Ufo.png", 0, 0, 0.25, 0);
+        gameView.addTextToCanvas("Score 1000", 0, 0, 20, Color.WHITE, 0);
+        gameView.addTextToCanvas("Score 1000", 0, 0, 20, Color.WHITE, TEXT_ROTATION);
+        gameView.printCanvas();
+    }
+
+    @Benchmark
+    public boolean timerIsActiveWithHandle() {
+        return gameView.timerIsActive(timer);
+    }
+
+    @Benchmark
+    public boolean timerIsActiveWithName() {
+        return gameView.timerIsActive("benchmark-name", owner);
+    }
+
+    @Benchmark
+    public void drawTextFromGlyphAtlas() {
+        gameView.addTextToCanvas("Score 1000", 0, 0, 20, Color.WHITE, 0);
+        gameView.printCanvas();
+    }
+
+    @Benchmark
+    public void drawChangingTextFromGlyphAtlas() {
+        gameView.addTextToCanvas("Score " + numberOfTexts++, 0, 0, 20, Color.WHITE, 0);
+        gameView.printCanvas();
+    }
+
+    @Benchmark
+    public void createImageFromTextCacheHit() {
+        gameView.addTextToCanvas("Score 1000", 0, 0, 20, Color.WHITE, TEXT_ROTATION);
+        gameView.printCanvas();
+    }
+
+    @Benchmark
+    public void createImageFromTextCacheMiss() {
+        gameView.addTextToCanvas("Score " + numberOfTexts++, 0, 0, 20, Color.WHITE, TEXT_ROTATION);
+        gameView.printCanvas();
+    }
+
+    /**
+     * Draws a frame with 50 objects of every kind of print object.
+     *
+     * @param offscreen GameView that draws its frames.
+     */
+    @Benchmark
+    public void createImageFromPrintObjects(Offscreen offscreen) {
+        GameView gameView = offscreen.gameView;
+        for (int index = 0; index < 50; index++) {
+            double x = index * 18;
+            gameView.addRectangleToCanvas(x, 20, 15, 15, 1, index % 2 == 0, Color.YELLOW);
+            gameView.addOvalToCanvas(x, 60, 15, 15, 1, index % 2 == 0, Color.RED);
+            gameView.addLineToCanvas(x, 100, x + 15, 115, 2, Color.GREEN);
+            gameView.addPolygonToCanvas(X_COORDINATES, Y_COORDINATES, 1, index % 2 == 0, Color.BLUE);
+            gameView.addPolyLineToCanvas(X_COORDINATES, Y_COORDINATES, 1, Color.CYAN);
+            gameView.addImageToCanvas("Ufo.png", x, 200, 0.25, index * 7);
+            gameView.addTextToCanvas("Score 1000", x, 300, 20, Color.WHITE, 0);
+        }
+        gameView.printCanvas();
+    }
+
+    /**
+     * Headless GameView that draws every frame into an image.
+     */
+    @State(Scope.Thread)
+    public static class Offscreen {
+        private GameView gameView;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            gameView = new GameView(true);
+            gameView.setOffscreenRendering(true);
+        }
+    }
+}
@@ -2,6 +2,13 @@ package thd.game.managers;
 
 import thd.game.level.Level;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
 public class FileManager {
 
     static void writeDifficultyToDisc(Level.Difficulty difficulty) {
@@ -12,4 +19,45 @@ public class FileManager {
         return Level.Difficulty.STANDARD;
 
     }
+
+    /**
+     * Writes a snapshot of the {@link WorldSnapshot} through a memory mapped file. The file is not truncated, because a
+     * file that is still mapped by an earlier load can not be shrunk on every system. The snapshot knows its own
+     * length, so a longer file does not matter.
+     *
+     * @param snapshot the snapshot.
+     * @param file     the file.
+     * @throws IOException if the file can not be written.
+     */
+    static void writeSnapshotToDisc(ByteBuffer snapshot, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer mappedBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, snapshot.remaining());
+            mappedBuffer.put(snapshot.duplicate());
+        }
+    }
+
+    /**
+     * Maps a snapshot that was written by {@link #writeSnapshotToDisc(ByteBuffer, Path)} into memory.
+     *
+     * @param file the file.
+     * @return the snapshot.
+     * @throws IOException if the file can not be read or contains no snapshot of this version.
+     */
+    static ByteBuffer readSnapshotFromDisc(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mappedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mappedBuffer.remaining() < 2 * Integer.BYTES || mappedBuffer.getInt(0) != WorldSnapshot.MAGIC) {
+                throw new IOException("\"" + file + "\" contains no snapshot of this version of the game.");
+            }
+            int length = mappedBuffer.getInt(Integer.BYTES);
+            if (length < WorldSnapshot.HEADER_SIZE) {
+                throw new IOException("The snapshot in \"" + file + "\" is not valid.");
+            }
+            if (length > mappedBuffer.remaining()) {
+                throw new IOException("The snapshot in \"" + file + "\" is incomplete.");
+            }
+            return mappedBuffer.limit(length);
+        }
+    }
 }
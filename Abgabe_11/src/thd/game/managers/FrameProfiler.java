@@ -0,0 +1,179 @@
+package thd.game.managers;
+
+import thd.gameview.GameView;
+
+import java.awt.*;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Measures how long the phases of each frame take. The times of the last {@value NUMBER_OF_FRAMES} frames are kept in
+ * a ring buffer, so the percentiles always describe the recent frames. Phases that run several times in one frame,
+ * e.g. because the simulation catches up with several ticks, are added up.
+ */
+class FrameProfiler {
+    private static final int NUMBER_OF_FRAMES = 1024;
+    private static final Phase[] PHASES = Phase.values();
+    /**
+     * The text on the canvas is only refreshed every few frames, it would not be readable otherwise.
+     */
+    private static final int FRAMES_PER_OVERLAY_UPDATE = 60;
+
+    private final long[][] samples;
+    private final long[] currentFrame;
+    private final long[] sortedSamples;
+    private final String[] overlayLines;
+    private int nextFrame;
+    private int numberOfFrames;
+    private int framesSinceOverlayUpdate;
+    private long startOfFrame;
+    private boolean paused;
+
+    /**
+     * Phases of a frame.
+     */
+    enum Phase {
+        GAME_PLAY("game play"),
+        USER_INPUTS("user inputs"),
+        STATUS("status"),
+        POSITION("position"),
+        COLLISION("collision"),
+        REWIND("rewind"),
+        CANVAS("canvas"),
+        RASTERIZATION("rasterization"),
+        PRINT("print/sleep"),
+        FRAME("frame");
+
+        private final String name;
+
+        Phase(String name) {
+            this.name = name;
+        }
+    }
+
+    FrameProfiler() {
+        samples = new long[PHASES.length][NUMBER_OF_FRAMES];
+        currentFrame = new long[PHASES.length];
+        sortedSamples = new long[NUMBER_OF_FRAMES];
+        overlayLines = new String[PHASES.length];
+        Arrays.fill(overlayLines, "");
+        startOfFrame = System.nanoTime();
+    }
+
+    /**
+     * Adds the time since the start time to the phase.
+     *
+     * @param phase     the phase that has just ended.
+     * @param startTime start of the phase from {@link System#nanoTime()}.
+     * @return the current time, which is the start time of the next phase.
+     */
+    long record(Phase phase, long startTime) {
+        long currentTime = System.nanoTime();
+        if (!paused) {
+            currentFrame[phase.ordinal()] += currentTime - startTime;
+        }
+        return currentTime;
+    }
+
+    /**
+     * Stops or continues adding times to the phases, e.g. while ticks are simulated again after a rewind. These ticks
+     * would otherwise be counted as game play.
+     *
+     * @param paused <code>true</code> to stop adding times.
+     */
+    void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    /**
+     * Stores the times of the current frame in the ring buffer and starts the next frame.
+     *
+     * @param rasterizationTime time the last frame needed to be rasterized.
+     */
+    synchronized void endFrame(long rasterizationTime) {
+        long currentTime = System.nanoTime();
+        currentFrame[Phase.RASTERIZATION.ordinal()] = rasterizationTime;
+        currentFrame[Phase.FRAME.ordinal()] = currentTime - startOfFrame;
+        startOfFrame = currentTime;
+        for (int phase = 0; phase < currentFrame.length; phase++) {
+            samples[phase][nextFrame] = currentFrame[phase];
+            currentFrame[phase] = 0;
+        }
+        nextFrame = (nextFrame + 1) % NUMBER_OF_FRAMES;
+        numberOfFrames = Math.min(numberOfFrames + 1, NUMBER_OF_FRAMES);
+        framesSinceOverlayUpdate++;
+    }
+
+    /**
+     * Calculates the percentile of the stored frames.
+     *
+     * @param phase      the phase.
+     * @param percentile the percentile between 0 and 100.
+     * @return the time in nanoseconds.
+     */
+    synchronized long percentile(Phase phase, double percentile) {
+        sortSamples(phase);
+        return sortedPercentile(percentile);
+    }
+
+    // The CSV file is written by a shutdown hook while the game loop may still end frames, so everything that touches
+    // the samples is synchronized.
+    private synchronized void updateOverlayLines() {
+        for (Phase phase : PHASES) {
+            sortSamples(phase);
+            overlayLines[phase.ordinal()] = String.format("%-13s %6.2f %6.2f %6.2f", phase.name,
+                    sortedPercentile(50) / 1e6, sortedPercentile(95) / 1e6, sortedPercentile(99) / 1e6);
+        }
+    }
+
+    private void sortSamples(Phase phase) {
+        System.arraycopy(samples[phase.ordinal()], 0, sortedSamples, 0, numberOfFrames);
+        Arrays.sort(sortedSamples, 0, numberOfFrames);
+    }
+
+    private long sortedPercentile(double percentile) {
+        if (numberOfFrames == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * numberOfFrames) - 1;
+        return sortedSamples[Math.max(0, Math.min(numberOfFrames - 1, index))];
+    }
+
+    /**
+     * Shows p50, p95 and p99 of every phase in milliseconds in the upper left corner.
+     *
+     * @param gameView the canvas.
+     */
+    void addToCanvas(GameView gameView) {
+        if (framesSinceOverlayUpdate >= FRAMES_PER_OVERLAY_UPDATE) {
+            framesSinceOverlayUpdate = 0;
+            updateOverlayLines();
+        }
+        final int fontSize = 10;
+        gameView.addTextToCanvas("phase           p50    p95    p99", 5, 5, fontSize, Color.YELLOW, 0);
+        for (int line = 0; line < overlayLines.length; line++) {
+            gameView.addTextToCanvas(overlayLines[line], 5, 5 + (line + 1) * fontSize, fontSize, Color.YELLOW, 0);
+        }
+    }
+
+    /**
+     * Writes p50, p95 and p99 of every phase in microseconds as CSV file.
+     *
+     * @param file the file.
+     */
+    synchronized void writeCsv(Path file) {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file))) {
+            writer.println("phase,p50_us,p95_us,p99_us,frames");
+            for (Phase phase : PHASES) {
+                sortSamples(phase);
+                writer.printf("%s,%d,%d,%d,%d%n", phase.name, sortedPercentile(50) / 1000,
+                        sortedPercentile(95) / 1000, sortedPercentile(99) / 1000, numberOfFrames);
+            }
+        } catch (IOException e) {
+            System.err.println("Profiling data could not be written to \"" + file + "\"!");
+        }
+    }
+}
@@ -1,43 +1,351 @@
 package thd.game.managers;
 
+import thd.game.level.Level;
 import thd.gameview.GameView;
 
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 /**
  * The Class creates a window with help of the {@param Gameview}.
  * In the window the game is displayed.
  */
 public class GameLoopManager {
+    private static final int DEFAULT_TICKS_PER_SECOND = 120;
+    /**
+     * If drawing is too slow, the simulation catches up with at most this many ticks per frame. The remaining time is
+     * dropped, so the game slows down instead of freezing.
+     */
+    private static final int MAX_TICKS_PER_FRAME = 5;
+    /**
+     * Shows the percentiles of the frame phases in the upper left corner.
+     */
+    private static final boolean SHOW_PROFILING_OVERLAY = false;
+    /**
+     * Writes the percentiles of the frame phases to this file when the program ends, <code>null</code> to write nothing.
+     */
+    private static final String PROFILING_CSV_FILE = null;
+    /**
+     * While this key is held down, the game runs backwards, one keyframe of the {@link RewindBuffer} at a time.
+     */
+    private static final int REWIND_KEY = KeyEvent.VK_BACK_SPACE;
+    private static final int REWIND_SECONDS = 10;
+    private static final int REWIND_BUFFER_SIZE_IN_BYTES = 32 * 1024 * 1024;
 
+    private final int ticksPerSecond;
+    private final long nanosecondsPerTick;
+    private final long seed;
     private final GameView gameView;
     private final GameObjectManager gameObjectManager;
     private final GamePlayManager gamePlayManager;
     private final InputManager inputManager;
+    private final FrameProfiler frameProfiler;
+    private final WorldSnapshot worldSnapshot;
+    private final RewindBuffer rewindBuffer;
+    private ExecutorService snapshotWriter;
+    private InputRecorder inputRecorder;
+    private InputReplay inputReplay;
+    private long numberOfTicks;
+    private long heldRewindTicks;
 
     /**
-     * Initializes the window.
+     * Initializes the window. The simulation runs with 120 ticks per second.
      */
     public GameLoopManager() {
-        gameView = new GameView();
-        gamePlayManager = new GamePlayManager(gameView);
-        gameObjectManager = new GameObjectManager(gameView, gamePlayManager);
+        this(DEFAULT_TICKS_PER_SECOND);
+    }
+
+    /**
+     * Initializes the window.
+     *
+     * @param ticksPerSecond number of simulation ticks per second. All speeds of the game objects are given per tick.
+     */
+    public GameLoopManager(int ticksPerSecond) {
+        this(new GameView(), ticksPerSecond);
+    }
+
+    /**
+     * Initializes the game in the given GameView, e.g. a headless GameView for simulations.
+     *
+     * @param gameView       the GameView to use.
+     * @param ticksPerSecond number of simulation ticks per second. All speeds of the game objects are given per tick.
+     */
+    public GameLoopManager(GameView gameView, int ticksPerSecond) {
+        this(gameView, ticksPerSecond, System.nanoTime());
+    }
+
+    /**
+     * Initializes the game in the given GameView with a fixed seed. Two games with the same seed and the same keys in
+     * every tick run exactly the same.
+     *
+     * @param gameView       the GameView to use.
+     * @param ticksPerSecond number of simulation ticks per second. All speeds of the game objects are given per tick.
+     * @param seed           the seed of the random numbers.
+     */
+    public GameLoopManager(GameView gameView, int ticksPerSecond, long seed) {
+        this(gameView, ticksPerSecond, seed, FileManager.readDifficultyFromDisc());
+    }
+
+    private GameLoopManager(GameView gameView, int ticksPerSecond, long seed, Level.Difficulty difficulty) {
+        this.ticksPerSecond = ticksPerSecond;
+        nanosecondsPerTick = 1_000_000_000L / ticksPerSecond;
+        this.seed = seed;
+        this.gameView = gameView;
+        frameProfiler = new FrameProfiler();
+        gamePlayManager = new GamePlayManager(gameView, seed, difficulty);
+        gameObjectManager = new GameObjectManager(gameView, gamePlayManager, frameProfiler);
         gamePlayManager.setGameObjectManager(gameObjectManager);
         inputManager = new InputManager(gameView,gameObjectManager.rover);
+        worldSnapshot = new WorldSnapshot(gameView, gamePlayManager, gameObjectManager);
+        rewindBuffer = new RewindBuffer(worldSnapshot, REWIND_SECONDS * ticksPerSecond, REWIND_BUFFER_SIZE_IN_BYTES);
 
         gameView.setWindowTitle("Moon Patrol");
         gameView.setStatusText("Gerloff Roman - Java Programmierung SS 2022");
         gameView.setWindowIcon("Icon2.png");
+        gameView.preloadResources();
+        gameView.useSimulatedGameTime();
+        if (PROFILING_CSV_FILE != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> frameProfiler.writeCsv(Path.of(PROFILING_CSV_FILE))));
+        }
+    }
+
+    /**
+     * Creates a game that replays a recording of {@link #recordInputs(Path)}. The game uses the seed, difficulty and
+     * ticks per second of the recording and takes the keys of every tick from it. In a headless GameView
+     * {@link #startGame()} replays the whole recording as fast as possible and returns at its end.
+     *
+     * @param gameView the GameView to use.
+     * @param file     the recording.
+     * @return the game.
+     * @throws IOException if the recording can not be read or was made with a different version of the game.
+     */
+    public static GameLoopManager replay(GameView gameView, Path file) throws IOException {
+        InputReplay inputReplay = new InputReplay(file);
+        Level.Difficulty[] difficulties = Level.Difficulty.values();
+        if (inputReplay.difficulty >= difficulties.length) {
+            throw new IOException("\"" + file + "\" uses an unknown difficulty.");
+        }
+        GameLoopManager gameLoopManager = new GameLoopManager(gameView, inputReplay.ticksPerSecond, inputReplay.seed,
+                difficulties[inputReplay.difficulty]);
+        if (inputReplay.level != gameLoopManager.gamePlayManager.getCurrentLevelIndex()) {
+            throw new IOException("\"" + file + "\" starts in an unknown level.");
+        }
+        gameLoopManager.inputReplay = inputReplay;
+        gameLoopManager.inputManager.setInputReplay(inputReplay);
+        return gameLoopManager;
+    }
+
+    /**
+     * Records the keys of every tick to the file, together with the seed, difficulty and level. The file is small, an
+     * hour of play needs only a few kilobytes, and is written by a separate thread. The recording ends when the game
+     * ends or the program is closed.
+     *
+     * @param file the file for the recording.
+     * @throws IOException           if the file can not be created.
+     * @throws IllegalStateException if the game has already started.
+     */
+    public void recordInputs(Path file) throws IOException {
+        if (numberOfTicks > 0 || inputRecorder != null) {
+            throw new IllegalStateException("Inputs can only be recorded from the start of the game.");
+        }
+        inputRecorder = new InputRecorder(file, ticksPerSecond, seed, gamePlayManager.difficulty.ordinal(),
+                gamePlayManager.getCurrentLevelIndex());
+        inputManager.setInputRecorder(inputRecorder);
+        Runtime.getRuntime().addShutdownHook(new Thread(inputRecorder::close));
     }
 
     /**
-     * Runs the game.
+     * Checks if a replay has played all recorded ticks.
+     *
+     * @return <code>true</code> if this game replays a recording, which has ended.
+     */
+    public boolean isReplayFinished() {
+        return inputReplay != null && inputReplay.isFinished();
+    }
+
+    /**
+     * Saves the world, i.e. all game objects, the level and the running timers. The world is captured immediately,
+     * the file is written by a separate thread, so the game does not have to wait. Must be called between two ticks,
+     * e.g. before {@link #startGame()} or after {@link #simulate(int)}.
+     *
+     * @param file the file for the snapshot.
+     * @return the running write, which fails with an {@link IOException} if the file can not be written.
+     */
+    public Future<?> saveWorld(Path file) {
+        ByteBuffer snapshot = worldSnapshot.capture();
+        if (snapshotWriter == null) {
+            snapshotWriter = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "WorldSnapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return snapshotWriter.submit(() -> {
+            FileManager.writeSnapshotToDisc(snapshot, file);
+            return null;
+        });
+    }
+
+    /**
+     * Replaces the world with the one saved by {@link #saveWorld(Path)}. Must be called between two ticks.
+     *
+     * @param file the file with the snapshot.
+     * @throws IOException if the file can not be read, contains no valid snapshot or was saved with a different
+     *                     difficulty.
+     */
+    public void loadWorld(Path file) throws IOException {
+        worldSnapshot.restore(FileManager.readSnapshotFromDisc(file));
+    }
+
+    /**
+     * Turns the game back by the given number of ticks, at most {@value #REWIND_SECONDS} seconds. The world is then
+     * exactly the same as it was at that tick. Must be called between two ticks.
+     *
+     * @param ticks number of ticks to go back.
+     * @return number of ticks the game was actually turned back.
+     * @throws IllegalStateException if the inputs are recorded or replayed.
+     */
+    public long rewind(long ticks) {
+        if (inputRecorder != null || inputReplay != null) {
+            throw new IllegalStateException("A recorded or replayed game can not be rewound.");
+        }
+        long targetTick = Math.max(numberOfTicks - ticks, rewindBuffer.getOldestTick());
+        if (targetTick >= numberOfTicks) {
+            return 0;
+        }
+        long rewoundTicks = numberOfTicks - targetTick;
+        long time = System.nanoTime();
+        frameProfiler.setPaused(true);
+        try {
+            numberOfTicks = rewindBuffer.restore(targetTick);
+            while (numberOfTicks < targetTick) {
+                tick(rewindBuffer.getKeyMask(numberOfTicks));
+            }
+        } finally {
+            frameProfiler.setPaused(false);
+        }
+        frameProfiler.record(FrameProfiler.Phase.REWIND, time);
+        return rewoundTicks;
+    }
+
+    /**
+     * Runs the game. The simulation advances in fixed ticks, independent of how fast the frames are drawn. Each frame
+     * shows the objects between the last two ticks. The game starts when all images are loaded. While the rewind key
+     * is held down, the game runs backwards: it jumps back to the previous keyframe as soon as the key has been held
+     * for as many ticks as lie between them. Only keyframes are restored and no ticks are simulated again, so going
+     * back keeps up with the real time.
      */
     public void startGame() {
-        while (!gamePlayManager.gameOver) {
-            gamePlayManager.updateGamePlay();
-            inputManager.updateUserInputs();
-            gameObjectManager.updateGameObjects();
-            gameView.printCanvas();
+        gameView.awaitPreloading();
+        if (gameView.isHeadless()) {
+            while (!gamePlayManager.gameOver && !isReplayFinished()) {
+                simulate(1);
+            }
+            stopRecording();
+            return;
+        }
+        long lastTime = System.nanoTime();
+        long accumulator = 0;
+        while (!gamePlayManager.gameOver && !isReplayFinished()) {
+            long currentTime = System.nanoTime();
+            accumulator += currentTime - lastTime;
+            lastTime = currentTime;
+            boolean rewinding = gameView.isKeyDown(REWIND_KEY) && inputRecorder == null && inputReplay == null;
+            int ticks = 0;
+            while (accumulator >= nanosecondsPerTick && ticks < MAX_TICKS_PER_FRAME) {
+                if (!rewinding) {
+                    tick();
+                }
+                accumulator -= nanosecondsPerTick;
+                ticks++;
+            }
+            if (rewinding) {
+                heldRewindTicks += ticks;
+                rewindToKeyframes();
+            } else {
+                heldRewindTicks = 0;
+            }
+            if (accumulator >= nanosecondsPerTick) {
+                accumulator = 0;
+            }
+            // A restored keyframe stands still, it must not move between its last two ticks.
+            render(rewinding ? 1 : (double) accumulator / nanosecondsPerTick);
+        }
+        stopRecording();
+    }
+
+    /**
+     * Runs the given number of ticks as fast as possible, without waiting for the real time to pass. Only useful with a
+     * headless GameView. Every tick is drawn.
+     *
+     * @param numberOfTicks number of ticks to simulate.
+     */
+    public void simulate(int numberOfTicks) {
+        for (int tick = 0; tick < numberOfTicks; tick++) {
+            tick();
+            render(1);
+        }
+    }
+
+    private void rewindToKeyframes() {
+        long time = System.nanoTime();
+        long keyframeTick = rewindBuffer.getKeyframeBefore(numberOfTicks);
+        while (keyframeTick != RewindBuffer.NONE && numberOfTicks - keyframeTick <= heldRewindTicks) {
+            heldRewindTicks -= numberOfTicks - keyframeTick;
+            numberOfTicks = rewindBuffer.restore(keyframeTick);
+            keyframeTick = rewindBuffer.getKeyframeBefore(numberOfTicks);
+        }
+        if (keyframeTick == RewindBuffer.NONE) {
+            // The oldest keyframe is reached, holding the key longer does not go back further.
+            heldRewindTicks = 0;
+        }
+        frameProfiler.record(FrameProfiler.Phase.REWIND, time);
+    }
+
+    private void stopRecording() {
+        if (inputRecorder != null) {
+            inputRecorder.close();
+        }
+    }
+
+    /**
+     * Advances the game by one tick. The game time advances with the ticks, so timers expire after the same number of
+     * ticks in every run.
+     */
+    private void tick() {
+        tick(inputManager.readKeyMask());
+    }
+
+    private void tick(int keyMask) {
+        long time = System.nanoTime();
+        rewindBuffer.record(numberOfTicks, keyMask);
+        frameProfiler.record(FrameProfiler.Phase.REWIND, time);
+        gameObjectManager.rememberPositions();
+        time = System.nanoTime();
+        gamePlayManager.updateGamePlay();
+        time = frameProfiler.record(FrameProfiler.Phase.GAME_PLAY, time);
+        inputManager.updateUserInputs(keyMask);
+        frameProfiler.record(FrameProfiler.Phase.USER_INPUTS, time);
+        gameObjectManager.updateGameObjects();
+        gameView.advanceGameTime(nanosecondsPerTick / 1_000_000d);
+        numberOfTicks++;
+    }
+
+    private void render(double alpha) {
+        long time = System.nanoTime();
+        gameObjectManager.addGameObjectsToCanvas(alpha);
+        if (SHOW_PROFILING_OVERLAY) {
+            frameProfiler.addToCanvas(gameView);
         }
+        time = frameProfiler.record(FrameProfiler.Phase.CANVAS, time);
+        gameView.printCanvas();
+        frameProfiler.record(FrameProfiler.Phase.PRINT, time);
+        frameProfiler.endFrame(gameView.getRasterizationTimeInNanoseconds());
     }
 }
 
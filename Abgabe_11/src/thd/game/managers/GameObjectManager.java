@@ -1,53 +1,108 @@
 package thd.game.managers;
 
-import thd.gameobjects.base.AutoMovable;
 import thd.gameobjects.base.CollidableGameObject;
 import thd.gameobjects.base.GameObject;
+import thd.gameobjects.base.RenderLayer;
 import thd.gameobjects.movable.Rover;
 import thd.gameobjects.unmovable.Overlay;
 import thd.gameview.GameView;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 class GameObjectManager {
-    final LinkedList<GameObject> gameObjects;
-    private final ArrayList<GameObject> toAdd;
-    private final ArrayList<GameObject> toRemove;
+    /**
+     * Uses the grid as broad phase. Set to <code>false</code> to test every pair of objects instead, e.g. to verify the
+     * grid.
+     */
+    private static final boolean SPATIAL_HASH_COLLISION_DETECTION = true;
+    private static final RenderLayer[] RENDER_LAYERS = RenderLayer.values();
+    final GameObjectStore gameObjects;
+    final ArrayList<GameObject> toAdd;
+    final ArrayList<GameObject> toRemove;
+    private final ArrayList<GameObject> removed;
+    private final Set<Object> ownersOfReleasedTimers;
+    private final SpatialHashGrid spatialHashGrid;
+    private final GameView gameView;
+    private final FrameProfiler frameProfiler;
     Rover rover;
     Overlay overlay;
 
     GameObjectManager(GameView gameView, GamePlayManager gamePlayManager) {
-        gameObjects = new LinkedList<>();
+        this(gameView, gamePlayManager, new FrameProfiler());
+    }
+
+    GameObjectManager(GameView gameView, GamePlayManager gamePlayManager, FrameProfiler frameProfiler) {
+        gameObjects = new GameObjectStore();
         toAdd = new ArrayList<>();
         toRemove = new ArrayList<>();
+        removed = new ArrayList<>();
+        ownersOfReleasedTimers = Collections.newSetFromMap(new IdentityHashMap<>());
+        spatialHashGrid = new SpatialHashGrid();
+        this.gameView = gameView;
+        this.frameProfiler = frameProfiler;
         rover = new Rover(gameView, gamePlayManager);
         overlay = new Overlay(gameView,gamePlayManager);
     }
 
+    /**
+     * Stores the positions of all objects before a simulation tick, so they can be interpolated while drawing.
+     */
+    void rememberPositions() {
+        for (int index = 0; index < gameObjects.size(); index++) {
+            gameObjects.get(index).rememberPosition();
+        }
+    }
+
     void updateGameObjects() {
+        long time = System.nanoTime();
         modifyGameObjectsList();
 
-        ArrayList<CollidableGameObject> collidables = new ArrayList<>(gameObjects.size());
-        for (GameObject gameObject : gameObjects) {
-            gameObject.updateStatus();
-            if (gameObject instanceof AutoMovable) {
-                ((AutoMovable) gameObject).updatePosition();
+        for (int index = 0; index < gameObjects.size(); index++) {
+            gameObjects.get(index).updateStatus();
+        }
+        time = frameProfiler.record(FrameProfiler.Phase.STATUS, time);
+        for (int index = 0; index < gameObjects.numberOfAutoMovables(); index++) {
+            gameObjects.getAutoMovable(index).updatePosition();
+        }
+        time = frameProfiler.record(FrameProfiler.Phase.POSITION, time);
+        detectCollisionsAndNotifyGameObjects(gameObjects.getCollidables(), gameObjects.numberOfCollidables());
+        frameProfiler.record(FrameProfiler.Phase.COLLISION, time);
+    }
+
+    /**
+     * Draws all objects, layer by layer.
+     *
+     * @param alpha progress between the last tick (0) and the current tick (1).
+     */
+    void addGameObjectsToCanvas(double alpha) {
+        for (RenderLayer renderLayer : RENDER_LAYERS) {
+            for (int index = 0; index < gameObjects.sizeOfLayer(renderLayer); index++) {
+                gameObjects.get(renderLayer, index).addToCanvas(alpha);
             }
-            gameObject.addToCanvas();
-            if (gameObject instanceof CollidableGameObject) {
-                collidables.add((CollidableGameObject) gameObject);
+        }
+    }
+
+    private void detectCollisionsAndNotifyGameObjects(CollidableGameObject[] collidables, int numberOfCollidables) {
+        if (SPATIAL_HASH_COLLISION_DETECTION) {
+            for (int index = 0; index < numberOfCollidables; index++) {
+                collidables[index].updateHitBoxPosition();
             }
+            spatialHashGrid.detectCollisionsAndNotifyGameObjects(collidables, numberOfCollidables);
+        } else {
+            detectCollisionsOfAllPairs(collidables, numberOfCollidables);
         }
-        detectCollisionsAndNotifyGameObjects(collidables);
     }
 
-    private void detectCollisionsAndNotifyGameObjects(ArrayList<CollidableGameObject> collidables) {
-        for (int index = 0; index < collidables.size(); index++) {
-            for (int other = index + 1; other < collidables.size(); other++) {
-                if (collidables.get(index).collidesWith(collidables.get(other))) {
-                    collidables.get(index).reactToCollision(collidables.get(other));
-                    collidables.get(other).reactToCollision(collidables.get(index));
+    private void detectCollisionsOfAllPairs(CollidableGameObject[] collidables, int numberOfCollidables) {
+        for (int index = 0; index < numberOfCollidables; index++) {
+            for (int other = index + 1; other < numberOfCollidables; other++) {
+                if (collidables[index].canCollideWith(collidables[other])
+                    && collidables[index].collidesWith(collidables[other])) {
+                    collidables[index].reactToCollision(collidables[other]);
+                    collidables[other].reactToCollision(collidables[index]);
                 }
             }
         }
@@ -73,33 +128,72 @@ class GameObjectManager {
 
 
     private void modifyGameObjectsList() {
-        gameObjects.addAll(toAdd);
-        gameObjects.removeAll(toRemove);
+        for (GameObject gameObject : toRemove) {
+            if (gameObjects.remove(gameObject)) {
+                removed.add(gameObject);
+            }
+        }
+        for (GameObject gameObject : toAdd) {
+            if (gameObjects.add(gameObject)) {
+                // New objects must not be interpolated from the position they had before.
+                gameObject.rememberPosition();
+            }
+        }
+        // Timers of objects that left the game would never be polled again. They are released together, because
+        // releasing them looks at every timer.
+        for (GameObject gameObject : removed) {
+            if (!gameObjects.contains(gameObject)) {
+                ownersOfReleasedTimers.add(gameObject);
+            }
+        }
+        if (!ownersOfReleasedTimers.isEmpty()) {
+            gameView.releaseTimersOfAll(ownersOfReleasedTimers);
+            for (GameObject gameObject : removed) {
+                if (ownersOfReleasedTimers.contains(gameObject)) {
+                    gameObject.recycle();
+                }
+            }
+            ownersOfReleasedTimers.clear();
+        }
         toAdd.clear();
         toRemove.clear();
-        sort();
+        removed.clear();
+        gameObjects.compact();
         if (gameObjects.size() > 2000) {
             throw new TooManyGameObjectsException("Too Many Objects");
         }
 
     }
 
-    void moveWorld(double shiftX, double shiftY) {
-        for (GameObject gameObject : gameObjects) {
-            if (!(gameObject instanceof AutoMovable)) {
-                gameObject.worldHasMoved(shiftX, shiftY);
-            }
+    /**
+     * Removes all objects immediately, also the objects that are waiting to be added, e.g. before a saved world is
+     * loaded.
+     */
+    void removeAllGameObjects() {
+        while (gameObjects.size() > 0) {
+            GameObject gameObject = gameObjects.get(gameObjects.size() - 1);
+            gameObjects.remove(gameObject);
+            removed.add(gameObject);
+        }
+        removed.addAll(toAdd);
+        ownersOfReleasedTimers.addAll(removed);
+        ownersOfReleasedTimers.add(rover);
+        ownersOfReleasedTimers.add(overlay);
+        gameView.releaseTimersOfAll(ownersOfReleasedTimers);
+        ownersOfReleasedTimers.clear();
+        for (GameObject gameObject : removed) {
+            gameObject.recycle();
         }
+        toAdd.clear();
+        toRemove.clear();
+        removed.clear();
+        gameObjects.compact();
     }
 
-    private void sort() {
-        for (int i = 0; i < gameObjects.size(); i++) {
-            if (gameObjects.get(i) instanceof Rover|| gameObjects.get(i) instanceof Overlay) {
-                gameObjects.remove(i);
-            }
+    void moveWorld(double shiftX, double shiftY) {
+        for (int index = 0; index < gameObjects.numberOfStationaries(); index++) {
+            gameObjects.getStationary(index).worldHasMoved(shiftX, shiftY);
         }
-        gameObjects.add(rover);
-        gameObjects.add(overlay);
     }
 
 }
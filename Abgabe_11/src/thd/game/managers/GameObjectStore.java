@@ -0,0 +1,246 @@
+package thd.game.managers;
+
+import thd.gameobjects.base.AutoMovable;
+import thd.gameobjects.base.CollidableGameObject;
+import thd.gameobjects.base.GameObject;
+import thd.gameobjects.base.RenderLayer;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+/**
+ * Stores the game objects in arrays. Besides the list of all objects there are separate buckets for the
+ * {@link AutoMovable} objects, the {@link CollidableGameObject}s, the stationary objects and one bucket for every
+ * {@link RenderLayer}, so the objects only have to be classified once when they are added.
+ * <p>
+ * Objects are removed from the list of all objects and from the type buckets by swapping in the last element. The
+ * render layers keep the order in which the objects were added, removed objects leave a gap which is closed by
+ * {@link #compact()}.
+ */
+class GameObjectStore {
+    private static final int INITIAL_CAPACITY = 256;
+    private static final RenderLayer[] RENDER_LAYERS = RenderLayer.values();
+
+    private final IdentityHashMap<GameObject, Slot> slots;
+    private final ArrayDeque<Slot> unusedSlots;
+    private GameObject[] gameObjects;
+    private int size;
+    private AutoMovable[] autoMovables;
+    private int numberOfAutoMovables;
+    private CollidableGameObject[] collidables;
+    private int numberOfCollidables;
+    private GameObject[] stationaries;
+    private int numberOfStationaries;
+    private final GameObject[][] layers;
+    private final int[] layerSizes;
+    private final int[] layerGaps;
+
+    GameObjectStore() {
+        slots = new IdentityHashMap<>(INITIAL_CAPACITY);
+        unusedSlots = new ArrayDeque<>(INITIAL_CAPACITY);
+        gameObjects = new GameObject[INITIAL_CAPACITY];
+        autoMovables = new AutoMovable[INITIAL_CAPACITY];
+        collidables = new CollidableGameObject[INITIAL_CAPACITY];
+        stationaries = new GameObject[INITIAL_CAPACITY];
+        layers = new GameObject[RENDER_LAYERS.length][INITIAL_CAPACITY];
+        layerSizes = new int[RENDER_LAYERS.length];
+        layerGaps = new int[RENDER_LAYERS.length];
+    }
+
+    /**
+     * Adds the object to the store. Objects that are already stored are ignored.
+     *
+     * @param gameObject the object to add.
+     * @return <code>false</code> if the object was already stored.
+     */
+    boolean add(GameObject gameObject) {
+        if (slots.containsKey(gameObject)) {
+            return false;
+        }
+        Slot slot = unusedSlots.isEmpty() ? new Slot() : unusedSlots.pop();
+        if (size == gameObjects.length) {
+            gameObjects = Arrays.copyOf(gameObjects, 2 * gameObjects.length);
+        }
+        slot.index = size;
+        gameObjects[size++] = gameObject;
+        if (gameObject instanceof AutoMovable) {
+            if (numberOfAutoMovables == autoMovables.length) {
+                autoMovables = Arrays.copyOf(autoMovables, 2 * autoMovables.length);
+            }
+            slot.autoMovableIndex = numberOfAutoMovables;
+            autoMovables[numberOfAutoMovables++] = (AutoMovable) gameObject;
+        } else {
+            if (numberOfStationaries == stationaries.length) {
+                stationaries = Arrays.copyOf(stationaries, 2 * stationaries.length);
+            }
+            slot.stationaryIndex = numberOfStationaries;
+            stationaries[numberOfStationaries++] = gameObject;
+        }
+        if (gameObject instanceof CollidableGameObject) {
+            if (numberOfCollidables == collidables.length) {
+                collidables = Arrays.copyOf(collidables, 2 * collidables.length);
+            }
+            slot.collidableIndex = numberOfCollidables;
+            collidables[numberOfCollidables++] = (CollidableGameObject) gameObject;
+        }
+        addToLayer(gameObject, slot);
+        slots.put(gameObject, slot);
+        return true;
+    }
+
+    private void addToLayer(GameObject gameObject, Slot slot) {
+        int layer = gameObject.getRenderLayer().ordinal();
+        int end = layerSizes[layer] + layerGaps[layer];
+        if (end == layers[layer].length) {
+            layers[layer] = Arrays.copyOf(layers[layer], 2 * layers[layer].length);
+        }
+        slot.layer = layer;
+        slot.layerIndex = end;
+        layers[layer][end] = gameObject;
+        layerSizes[layer]++;
+    }
+
+    /**
+     * Removes the object from the store. Objects that are not stored are ignored.
+     *
+     * @param gameObject the object to remove.
+     * @return <code>false</code> if the object was not stored.
+     */
+    boolean remove(GameObject gameObject) {
+        Slot slot = slots.get(gameObject);
+        if (slot == null) {
+            return false;
+        }
+        GameObject lastGameObject = gameObjects[--size];
+        gameObjects[slot.index] = lastGameObject;
+        gameObjects[size] = null;
+        slots.get(lastGameObject).index = slot.index;
+        if (slot.autoMovableIndex >= 0) {
+            AutoMovable last = autoMovables[--numberOfAutoMovables];
+            autoMovables[slot.autoMovableIndex] = last;
+            autoMovables[numberOfAutoMovables] = null;
+            slots.get((GameObject) last).autoMovableIndex = slot.autoMovableIndex;
+        }
+        if (slot.stationaryIndex >= 0) {
+            GameObject last = stationaries[--numberOfStationaries];
+            stationaries[slot.stationaryIndex] = last;
+            stationaries[numberOfStationaries] = null;
+            slots.get(last).stationaryIndex = slot.stationaryIndex;
+        }
+        if (slot.collidableIndex >= 0) {
+            CollidableGameObject last = collidables[--numberOfCollidables];
+            collidables[slot.collidableIndex] = last;
+            collidables[numberOfCollidables] = null;
+            slots.get(last).collidableIndex = slot.collidableIndex;
+        }
+        layers[slot.layer][slot.layerIndex] = null;
+        layerSizes[slot.layer]--;
+        layerGaps[slot.layer]++;
+        slots.remove(gameObject);
+        slot.reset();
+        unusedSlots.push(slot);
+        return true;
+    }
+
+    /**
+     * Closes the gaps that removed objects left in the render layers. The order of the remaining objects is kept.
+     */
+    void compact() {
+        for (int layer = 0; layer < layers.length; layer++) {
+            if (layerGaps[layer] == 0) {
+                continue;
+            }
+            GameObject[] objects = layers[layer];
+            int end = layerSizes[layer] + layerGaps[layer];
+            int target = 0;
+            for (int index = 0; index < end; index++) {
+                GameObject gameObject = objects[index];
+                if (gameObject != null) {
+                    objects[target] = gameObject;
+                    slots.get(gameObject).layerIndex = target;
+                    target++;
+                }
+            }
+            Arrays.fill(objects, target, end, null);
+            layerGaps[layer] = 0;
+        }
+    }
+
+    boolean contains(GameObject gameObject) {
+        return slots.containsKey(gameObject);
+    }
+
+    int size() {
+        return size;
+    }
+
+    GameObject get(int index) {
+        return gameObjects[index];
+    }
+
+    int numberOfAutoMovables() {
+        return numberOfAutoMovables;
+    }
+
+    AutoMovable getAutoMovable(int index) {
+        return autoMovables[index];
+    }
+
+    int numberOfStationaries() {
+        return numberOfStationaries;
+    }
+
+    GameObject getStationary(int index) {
+        return stationaries[index];
+    }
+
+    int numberOfCollidables() {
+        return numberOfCollidables;
+    }
+
+    /**
+     * Gets the bucket of collidables. Only the first {@link #numberOfCollidables()} entries are valid.
+     *
+     * @return the collidables.
+     */
+    CollidableGameObject[] getCollidables() {
+        return collidables;
+    }
+
+    /**
+     * Number of objects in the render layer. Only valid as index bound after {@link #compact()}.
+     *
+     * @param renderLayer the render layer.
+     * @return the number of objects.
+     */
+    int sizeOfLayer(RenderLayer renderLayer) {
+        return layerSizes[renderLayer.ordinal()];
+    }
+
+    GameObject get(RenderLayer renderLayer, int index) {
+        return layers[renderLayer.ordinal()][index];
+    }
+
+    private static class Slot {
+        private int index;
+        private int autoMovableIndex;
+        private int stationaryIndex;
+        private int collidableIndex;
+        private int layer;
+        private int layerIndex;
+
+        private Slot() {
+            reset();
+        }
+
+        private void reset() {
+            index = -1;
+            autoMovableIndex = -1;
+            stationaryIndex = -1;
+            collidableIndex = -1;
+            layer = -1;
+            layerIndex = -1;
+        }
+    }
+}
@@ -3,13 +3,17 @@ package thd.game.managers;
 import thd.game.level.Level;
 import thd.game.level.Level1;
 import thd.game.level.Level2;
+import thd.game.utilities.RandomService;
 import thd.gameobjects.base.GameObject;
-import thd.gameobjects.base.Position;
+import thd.gameobjects.base.GameObjectPool;
 import thd.gameobjects.movable.*;
+import thd.gameobjects.unmovable.Overlay;
 import thd.gameobjects.unmovable.Stars;
 import thd.gameview.GameView;
 
-import java.util.Random;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.function.Supplier;
 
 /**
  * This class makes sure that all objects are spawning and getting destroyed afterwards.
@@ -30,36 +34,59 @@ public class GamePlayManager {
     private GameObjectManager gameObjectManager;
 
     private final LevelManager levelManager;
+    final Level.Difficulty difficulty;
 
     private Level currentLevel;
     private GameObject[] enemies;
-
-    GamePlayManager(GameView gameView) {
+    private final GameView.TimerHandle gameOverAlarm;
+    private final GameView.TimerHandle levelTimer;
+    private final GameView.TimerHandle spawnEnemyTimer;
+    private final HashMap<Class<? extends GameObject>, GameObjectPool<?>> pools;
+    private final HashMap<String, Supplier<? extends GameObject>> factories;
+    private final GameObjectPool<Triangle> trianglePool;
+    private final GameObjectPool<Ufo> ufoPool;
+    private final RandomService randomService;
+    private final RandomService.RandomStream random;
+
+    GamePlayManager(GameView gameView, long seed, Level.Difficulty difficulty) {
         this.gameView = gameView;
-        levelManager = new LevelManager(Level.Difficulty.STANDARD);
+        this.difficulty = difficulty;
+        levelManager = new LevelManager(difficulty);
         currentLevel = levelManager.levels.getFirst();
         gameOver = false;
         isGameOver = false;
-
+        gameOverAlarm = gameView.createTimer("gameOver", this);
+        levelTimer = gameView.createTimer("level", this);
+        spawnEnemyTimer = gameView.createTimer("spawnEnemy", this);
+        randomService = new RandomService(seed);
+        random = randomService.stream(RandomService.Stream.SPAWNING);
+        pools = new HashMap<>();
+        factories = new HashMap<>();
+        factories.put(Stars.class.getName(), () -> new Stars(gameView, this));
+        factories.put(MovableBackground.class.getName(), () -> new MovableBackground(gameView, this, ""));
+        factories.put(Rock.class.getName(), () -> new Rock(gameView, this));
+        factories.put(FloorBomb.class.getName(), () -> new FloorBomb(gameView, this));
+        trianglePool = pool(Triangle.class, () -> new Triangle(gameView, this));
+        ufoPool = pool(Ufo.class, () -> new Ufo(gameView, this));
 
         enemies = new GameObject[]{
                 new Triangle(gameView, this),
-                new Ufo(gameView, this, new Position(100, 100)),
+                new Ufo(gameView, this),
                 new Rock(gameView, this),
                 new FloorBomb(gameView, this)};
     }
 
     void updateGamePlay() {
         if (gameOver()) {
-            if (!gameView.alarmIsSet("gameOver", this)) {
-                gameView.setAlarm("gameOver", this, 2000);
+            if (!gameView.alarmIsSet(gameOverAlarm)) {
+                gameView.setAlarm(gameOverAlarm, 2000);
                 gameObjectManager.overlay.showMessage("Game Over", 2);
-            } else if (gameView.alarm("gameOver", this)) {
+            } else if (gameView.alarm(gameOverAlarm)) {
                 initializeGame();
             }
         } else {
-            if (!gameView.timerIsActive("level", this)) {
-                gameView.activateTimer("level", this, 60000);
+            if (!gameView.timerIsActive(levelTimer)) {
+                gameView.activateTimer(levelTimer, 60000);
                 if (currentLevel.name.equals("District 3")) {
                     levelManager.resetLevelCounter();
                 }
@@ -71,6 +98,10 @@ public class GamePlayManager {
         }
     }
 
+    int getCurrentLevelIndex() {
+        return levelManager.levels.indexOf(currentLevel);
+    }
+
     private boolean gameOver() {
         return isGameOver;
     }
@@ -94,37 +125,106 @@ public class GamePlayManager {
         gameObjectManager.overlay.showMessage(currentLevel.name, 2);
         if (currentLevel.getClass() == Level1.class) {
             gameObjectManager.addGameObject(new MovableBackground(gameView, this, "CityNew.png"));
-            gameObjectManager.addGameObject(new Ufo(gameView, this, new Position(100, 100)));
-            gameObjectManager.addGameObject(new Triangle(gameView,this));
+            gameObjectManager.addGameObject(obtainUfo());
+            gameObjectManager.addGameObject(trianglePool.obtain());
 
         } else if (currentLevel.getClass() == Level2.class) {
             gameObjectManager.addGameObject(new MovableBackground(gameView, this, "CanyonNew.png"));
-            gameObjectManager.addGameObject(new Triangle(gameView, this));
+            gameObjectManager.addGameObject(trianglePool.obtain());
         }
     }
 
     private void spawnRandomEnemies() {
-        if (!gameView.timerIsActive("spawnEnemy", this)) {
-            gameView.activateTimer("spawnEnemy", this, 5000);
+        if (!gameView.timerIsActive(spawnEnemyTimer)) {
+            gameView.activateTimer(spawnEnemyTimer, 5000);
             System.out.println("test");
             //gameObjectManager.addGameObject(enemies[(int) (Math.random() * 0)]);
-            Random random = new Random();
             if(random.nextBoolean()){
-                gameObjectManager.addGameObject(new Triangle(gameView,this));
+                gameObjectManager.addGameObject(trianglePool.obtain());
             }else{
-                gameObjectManager.addGameObject(new Ufo(gameView,this,new Position(100,100)));
+                gameObjectManager.addGameObject(obtainUfo());
             }
         }
     }
 
+    private Ufo obtainUfo() {
+        Ufo ufo = ufoPool.obtain();
+        ufo.initialize(100, 100);
+        return ufo;
+    }
+
+    /**
+     * Gets the pool for game objects of the given type. The pool is created with the factory on the first call, later
+     * calls return the same pool. Objects of types with a pool are taken from it when a saved world is loaded.
+     *
+     * @param type    type of the game objects.
+     * @param factory creates new objects if the pool is empty.
+     * @param <T>     type of the game objects.
+     * @return the pool.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends GameObject> GameObjectPool<T> pool(Class<T> type, Supplier<T> factory) {
+        return (GameObjectPool<T>) pools.computeIfAbsent(type, key -> {
+            GameObjectPool<T> pool = new GameObjectPool<>(factory);
+            factories.put(type.getName(), pool::obtain);
+            return pool;
+        });
+    }
+
+    boolean canCreateGameObject(String typeName) {
+        return factories.containsKey(typeName);
+    }
+
+    /**
+     * Creates an object of the given type for a saved world. The state of the object still has to be read.
+     *
+     * @param typeName the name of the class, see {@link #canCreateGameObject(String)}.
+     * @return the object.
+     */
+    GameObject createGameObject(String typeName) {
+        return factories.get(typeName).get();
+    }
+
+    void writeState(ByteBuffer buffer) {
+        buffer.put((byte) (isGameOver ? 1 : 0));
+        buffer.putInt(getCurrentLevelIndex());
+        buffer.putInt(levelManager.getLevelCounter());
+    }
+
+    void readState(ByteBuffer buffer) {
+        isGameOver = buffer.get() == 1;
+        currentLevel = levelManager.levels.get(buffer.getInt());
+        levelManager.setLevelCounter(buffer.getInt());
+    }
+
     private void destroyAll() {
-        for (GameObject o : gameObjectManager.gameObjects) {
-            destroy(o);
+        for (int index = 0; index < gameObjectManager.gameObjects.size(); index++) {
+            destroy(gameObjectManager.gameObjects.get(index));
         }
     }
 
+    /**
+     * Gets the random numbers of the game. Game objects draw from their own stream of this service.
+     *
+     * @return the random service.
+     */
+    public RandomService getRandomService() {
+        return randomService;
+    }
+
+    /**
+     * Gets the Rover of the game.
+     *
+     * @return the Rover.
+     */
+    public Rover getRover() {
+        return gameObjectManager.rover;
+    }
+
     void setGameObjectManager(GameObjectManager gameObjectManager) {
         this.gameObjectManager = gameObjectManager;
+        factories.put(Rover.class.getName(), () -> gameObjectManager.rover);
+        factories.put(Overlay.class.getName(), () -> gameObjectManager.overlay);
     }
 
     /**
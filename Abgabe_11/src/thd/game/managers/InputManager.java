@@ -7,25 +7,66 @@ import java.awt.event.KeyEvent;
 
 class InputManager {
     private static final boolean DIAGONAL_MOVEMENT_ALLOWED = true;
+    /**
+     * The keys of the game. Without diagonal movement, only the first key that is held down counts. The index of a key
+     * is its bit in the recorded key masks, so new keys must be added at the end.
+     */
+    private static final int[] KEY_CODES = {KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT, KeyEvent.VK_UP, KeyEvent.VK_SPACE};
     private final GameView gameView;
     private final Rover rover;
+    private InputRecorder inputRecorder;
+    private InputReplay inputReplay;
 
     InputManager(GameView gameView, Rover rover) {
         this.gameView = gameView;
         this.rover = rover;
     }
 
-    void updateUserInputs() {
-        Integer[] pressedKeys = gameView.getKeyCodesOfCurrentlyPressedKeys();
-        if (DIAGONAL_MOVEMENT_ALLOWED) {
-            for (int keyCode : pressedKeys) {
-                processKeyCode(keyCode);
+    void setInputRecorder(InputRecorder inputRecorder) {
+        this.inputRecorder = inputRecorder;
+    }
+
+    /**
+     * Takes the keys from the replay instead of the keyboard.
+     *
+     * @param inputReplay the replay, <code>null</code> to use the keyboard.
+     */
+    void setInputReplay(InputReplay inputReplay) {
+        this.inputReplay = inputReplay;
+    }
+
+    /**
+     * Gets the keys of the next tick, from the replay or the keyboard, and records them.
+     *
+     * @return the bit mask of the pressed keys.
+     */
+    int readKeyMask() {
+        int keyMask = inputReplay != null ? inputReplay.nextKeyMask() : keyMaskOfPressedKeys();
+        if (inputRecorder != null) {
+            inputRecorder.record(keyMask);
+        }
+        return keyMask;
+    }
+
+    void updateUserInputs(int keyMask) {
+        for (int index = 0; index < KEY_CODES.length; index++) {
+            if ((keyMask & (1 << index)) != 0) {
+                processKeyCode(KEY_CODES[index]);
+                if (!DIAGONAL_MOVEMENT_ALLOWED) {
+                    break;
+                }
             }
-        } else {
-            if (pressedKeys.length >= 1) {
-                processKeyCode(pressedKeys[0]);
+        }
+    }
+
+    private int keyMaskOfPressedKeys() {
+        int keyMask = 0;
+        for (int index = 0; index < KEY_CODES.length; index++) {
+            if (gameView.isKeyDown(KEY_CODES[index])) {
+                keyMask |= 1 << index;
             }
         }
+        return keyMask;
     }
 
     private void processKeyCode(int keyCode) {
@@ -0,0 +1,141 @@
+package thd.game.managers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the pressed keys of every tick, so a game can be replayed by {@link InputReplay}. The keys of a tick are
+ * stored as bit mask, one bit for each key of the game.
+ * <p>
+ * The file starts with a header: the bytes {@value #MAGIC}, the ticks per second, the seed, the difficulty and the
+ * index of the first level. Then only the changes of the bit mask follow, each as one varint
+ * <code>(ticks since the last entry &lt;&lt; 8) | (old mask ^ new mask)</code>. Every {@value #KEYFRAME_INTERVAL}
+ * ticks a keyframe with the marker 0, the tick and the complete mask is written, so the masks after it do not depend on
+ * the changes before. The recording ends with a keyframe at the number of recorded ticks.
+ * <p>
+ * The encoded bytes are collected in chunks, which are written to the file by a separate thread.
+ */
+class InputRecorder {
+    static final String MAGIC = "MPR1";
+    static final int KEYFRAME_INTERVAL = 1200;
+    static final int MASK_BITS = 8;
+    private static final int CHUNK_SIZE = 4096;
+
+    private final Path file;
+    private final OutputStream outputStream;
+    private final ExecutorService writer;
+    private byte[] chunk;
+    private int chunkSize;
+    private int tick;
+    private int lastEntryTick;
+    private int previousKeyMask;
+    private boolean closed;
+
+    InputRecorder(Path file, int ticksPerSecond, long seed, int difficulty, int level) throws IOException {
+        this.file = file;
+        outputStream = Files.newOutputStream(file);
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "InputRecorder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        chunk = new byte[CHUNK_SIZE];
+        for (byte character : MAGIC.getBytes(StandardCharsets.US_ASCII)) {
+            writeByte(character);
+        }
+        writeVarint(ticksPerSecond);
+        writeVarint((seed << 1) ^ (seed >> 63));
+        writeVarint(difficulty);
+        writeVarint(level);
+    }
+
+    /**
+     * Records the keys of the next tick.
+     *
+     * @param keyMask the pressed keys, at most {@value #MASK_BITS} bits.
+     */
+    synchronized void record(int keyMask) {
+        if (closed) {
+            return;
+        }
+        if (tick % KEYFRAME_INTERVAL == 0) {
+            writeKeyframe(keyMask);
+        } else if (keyMask != previousKeyMask) {
+            writeVarint(((long) (tick - lastEntryTick) << MASK_BITS) | (keyMask ^ previousKeyMask));
+            lastEntryTick = tick;
+            previousKeyMask = keyMask;
+        }
+        tick++;
+    }
+
+    /**
+     * Ends the recording and waits until everything is written. Calling it again has no effect.
+     */
+    synchronized void close() {
+        if (closed) {
+            return;
+        }
+        writeKeyframe(previousKeyMask);
+        closed = true;
+        flushChunk();
+        writer.execute(() -> {
+            try {
+                outputStream.close();
+            } catch (IOException e) {
+                System.err.println("Input recording could not be written to \"" + file + "\"!");
+            }
+        });
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    int getNumberOfRecordedTicks() {
+        return tick;
+    }
+
+    private void writeKeyframe(int keyMask) {
+        writeVarint(0);
+        writeVarint(tick);
+        writeVarint(keyMask);
+        lastEntryTick = tick;
+        previousKeyMask = keyMask;
+    }
+
+    private void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writeByte((int) value);
+    }
+
+    private void writeByte(int value) {
+        if (chunkSize == chunk.length) {
+            flushChunk();
+        }
+        chunk[chunkSize++] = (byte) value;
+    }
+
+    private void flushChunk() {
+        byte[] bytes = Arrays.copyOf(chunk, chunkSize);
+        chunkSize = 0;
+        writer.execute(() -> {
+            try {
+                outputStream.write(bytes);
+            } catch (IOException e) {
+                System.err.println("Input recording could not be written to \"" + file + "\"!");
+            }
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package thd.game.managers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Plays the keys of a recording of the {@link InputRecorder} back, one bit mask per tick. The recording is decoded
+ * completely when it is opened.
+ */
+class InputReplay {
+    final int ticksPerSecond;
+    final long seed;
+    final int difficulty;
+    final int level;
+    private final int numberOfTicks;
+    private int[] entryTicks;
+    private int[] entryKeyMasks;
+    private int numberOfEntries;
+    private int nextEntry;
+    private int tick;
+    private int keyMask;
+
+    InputReplay(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        byte[] magic = InputRecorder.MAGIC.getBytes(StandardCharsets.US_ASCII);
+        for (byte character : magic) {
+            if (!buffer.hasRemaining() || buffer.get() != character) {
+                throw new IOException("\"" + file + "\" is not an input recording.");
+            }
+        }
+        ticksPerSecond = (int) readVarint(buffer);
+        long zigZagSeed = readVarint(buffer);
+        seed = (zigZagSeed >>> 1) ^ -(zigZagSeed & 1);
+        difficulty = (int) readVarint(buffer);
+        level = (int) readVarint(buffer);
+        entryTicks = new int[64];
+        entryKeyMasks = new int[64];
+        int currentTick = 0;
+        int currentKeyMask = 0;
+        while (buffer.hasRemaining()) {
+            long value = readVarint(buffer);
+            if (value == 0) {
+                currentTick = (int) readVarint(buffer);
+                currentKeyMask = (int) readVarint(buffer);
+            } else {
+                currentTick += (int) (value >>> InputRecorder.MASK_BITS);
+                currentKeyMask ^= (int) (value & ((1 << InputRecorder.MASK_BITS) - 1));
+            }
+            addEntry(currentTick, currentKeyMask);
+        }
+        if (numberOfEntries == 0) {
+            throw new IOException("\"" + file + "\" contains no ticks.");
+        }
+        numberOfTicks = currentTick;
+    }
+
+    private static long readVarint(ByteBuffer buffer) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            if (!buffer.hasRemaining()) {
+                throw new IOException("The input recording is incomplete.");
+            }
+            byte current = buffer.get();
+            value |= (long) (current & 0x7F) << shift;
+            if (current >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("The input recording is corrupt.");
+    }
+
+    private void addEntry(int entryTick, int entryKeyMask) {
+        if (numberOfEntries == entryTicks.length) {
+            entryTicks = Arrays.copyOf(entryTicks, 2 * numberOfEntries);
+            entryKeyMasks = Arrays.copyOf(entryKeyMasks, 2 * numberOfEntries);
+        }
+        entryTicks[numberOfEntries] = entryTick;
+        entryKeyMasks[numberOfEntries] = entryKeyMask;
+        numberOfEntries++;
+    }
+
+    /**
+     * Gets the keys of the next tick. After the end of the recording no keys are pressed.
+     *
+     * @return the bit mask of the pressed keys.
+     */
+    int nextKeyMask() {
+        if (isFinished()) {
+            tick++;
+            return 0;
+        }
+        while (nextEntry < numberOfEntries && entryTicks[nextEntry] <= tick) {
+            keyMask = entryKeyMasks[nextEntry++];
+        }
+        tick++;
+        return keyMask;
+    }
+
+    boolean isFinished() {
+        return tick >= numberOfTicks;
+    }
+
+    int getNumberOfTicks() {
+        return numberOfTicks;
+    }
+}
@@ -37,4 +37,12 @@ class LevelManager {
         currentLevel = 0;
     }
 
+    int getLevelCounter() {
+        return currentLevel;
+    }
+
+    void setLevelCounter(int currentLevel) {
+        this.currentLevel = currentLevel;
+    }
+
 }
@@ -0,0 +1,149 @@
+package thd.game.managers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Keeps the last seconds of the game, so the game can be rewound. Every {@value #KEYFRAME_INTERVAL} ticks the whole
+ * world is stored as {@link WorldSnapshot}, for the ticks in between only the pressed keys are stored. A tick is
+ * restored by loading the keyframe before it and simulating the ticks up to it again with the stored keys. The game is
+ * deterministic, so this gives exactly the same world.
+ * <p>
+ * All memory is allocated when the buffer is created. The keyframes are stored in equal slots of one buffer, the
+ * oldest keyframe is overwritten by the newest. A keyframe that does not fit into its slot is dropped, ticks after it
+ * are then simulated from the keyframe before.
+ */
+class RewindBuffer {
+    static final int KEYFRAME_INTERVAL = 60;
+    static final long NONE = -1;
+
+    private final WorldSnapshot worldSnapshot;
+    private final int maximumNumberOfTicks;
+    private final ByteBuffer storage;
+    private final int slotSize;
+    private final long[] keyframeTicks;
+    private final int[] keyframeLengths;
+    private final byte[] keyMasks;
+    private long nextTick;
+
+    /**
+     * Creates the buffer.
+     *
+     * @param worldSnapshot        writes and restores the keyframes.
+     * @param maximumNumberOfTicks how many ticks the game can be rewound.
+     * @param sizeInBytes          memory for all keyframes together.
+     */
+    RewindBuffer(WorldSnapshot worldSnapshot, int maximumNumberOfTicks, int sizeInBytes) {
+        this.worldSnapshot = worldSnapshot;
+        this.maximumNumberOfTicks = maximumNumberOfTicks;
+        // One more keyframe than needed, because the oldest tick usually lies after a keyframe.
+        int numberOfSlots = (maximumNumberOfTicks + KEYFRAME_INTERVAL - 1) / KEYFRAME_INTERVAL + 1;
+        storage = ByteBuffer.allocateDirect(sizeInBytes);
+        slotSize = sizeInBytes / numberOfSlots;
+        keyframeTicks = new long[numberOfSlots];
+        Arrays.fill(keyframeTicks, NONE);
+        keyframeLengths = new int[numberOfSlots];
+        keyMasks = new byte[numberOfSlots * KEYFRAME_INTERVAL];
+    }
+
+    /**
+     * Stores the keys of a tick, before the tick is simulated. At the start of every {@value #KEYFRAME_INTERVAL}th tick
+     * the world is stored, too.
+     *
+     * @param tick    number of the tick.
+     * @param keyMask the pressed keys.
+     */
+    void record(long tick, int keyMask) {
+        if (tick % KEYFRAME_INTERVAL == 0) {
+            int slot = slot(tick);
+            // After a rewind the ticks from the restored keyframe are simulated again, its slot is still valid.
+            if (keyframeTicks[slot] != tick) {
+                int start = slot * slotSize;
+                storage.limit(start + slotSize).position(start);
+                boolean captured = worldSnapshot.capture(storage);
+                keyframeTicks[slot] = captured ? tick : NONE;
+                keyframeLengths[slot] = storage.position() - start;
+            }
+        }
+        keyMasks[(int) (tick % keyMasks.length)] = (byte) keyMask;
+        nextTick = tick + 1;
+    }
+
+    private int slot(long tick) {
+        return (int) (tick / KEYFRAME_INTERVAL % keyframeTicks.length);
+    }
+
+    /**
+     * Gets the stored keys of a tick.
+     *
+     * @param tick number of the tick, between {@link #getOldestTick()} and the last recorded tick.
+     * @return the pressed keys.
+     */
+    int getKeyMask(long tick) {
+        return keyMasks[(int) (tick % keyMasks.length)];
+    }
+
+    /**
+     * The oldest tick that can be restored.
+     *
+     * @return number of the tick, the next tick if nothing can be restored.
+     */
+    long getOldestTick() {
+        long oldestKeyframe = nextTick;
+        for (long keyframeTick : keyframeTicks) {
+            if (keyframeTick != NONE && keyframeTick < oldestKeyframe) {
+                oldestKeyframe = keyframeTick;
+            }
+        }
+        return Math.max(oldestKeyframe, nextTick - maximumNumberOfTicks);
+    }
+
+    /**
+     * The last keyframe before the given tick that can be restored.
+     *
+     * @param tick number of the tick.
+     * @return number of the tick of the keyframe, {@value #NONE} if there is none.
+     */
+    long getKeyframeBefore(long tick) {
+        long oldestTick = getOldestTick();
+        long keyframe = NONE;
+        for (long keyframeTick : keyframeTicks) {
+            if (keyframeTick >= oldestTick && keyframeTick < tick && keyframeTick > keyframe) {
+                keyframe = keyframeTick;
+            }
+        }
+        return keyframe;
+    }
+
+    /**
+     * Restores the last keyframe before or at the given tick and forgets everything after the given tick. The caller
+     * has to simulate the ticks from the keyframe up to the given tick with the keys from {@link #getKeyMask(long)}.
+     *
+     * @param targetTick the tick to return to, not before {@link #getOldestTick()}.
+     * @return number of the tick of the restored keyframe.
+     */
+    long restore(long targetTick) {
+        int keyframeSlot = -1;
+        for (int slot = 0; slot < keyframeTicks.length; slot++) {
+            if (keyframeTicks[slot] > targetTick) {
+                keyframeTicks[slot] = NONE;
+            } else if (keyframeTicks[slot] != NONE
+                       && (keyframeSlot == -1 || keyframeTicks[slot] > keyframeTicks[keyframeSlot])) {
+                keyframeSlot = slot;
+            }
+        }
+        if (keyframeSlot == -1) {
+            throw new IllegalStateException("There is no keyframe before tick " + targetTick + ".");
+        }
+        int start = keyframeSlot * slotSize;
+        ByteBuffer keyframe = storage.duplicate().limit(start + keyframeLengths[keyframeSlot]).position(start);
+        try {
+            worldSnapshot.restore(keyframe);
+        } catch (IOException e) {
+            throw new IllegalStateException("The keyframe of tick " + keyframeTicks[keyframeSlot] + " is damaged.", e);
+        }
+        nextTick = keyframeTicks[keyframeSlot];
+        return nextTick;
+    }
+}
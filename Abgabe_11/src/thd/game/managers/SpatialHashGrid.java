@@ -0,0 +1,141 @@
+package thd.game.managers;
+
+import thd.gameobjects.base.CollidableGameObject;
+import thd.gameview.GameView;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * Uniform grid over the canvas which is used as broad phase for the collision detection.
+ * Only objects that share a cell and whose collision layers are able to interact are tested against each other.
+ */
+class SpatialHashGrid {
+    private static final int CELL_SIZE = 64;
+    /**
+     * Objects are spawned outside the canvas (e.g. Triangle at y = -100), so the grid is a bit bigger than the canvas.
+     * Everything further outside ends up in the border cells.
+     */
+    private static final int MARGIN = 4 * CELL_SIZE;
+
+    private final int columns;
+    private final int rows;
+    private final int[] cellStart;
+    private int[] entries;
+    private int[] minColumn;
+    private int[] maxColumn;
+    private int[] minRow;
+    private int[] maxRow;
+    private int[] layerBits;
+    private int[] layerMasks;
+
+    SpatialHashGrid() {
+        columns = (GameView.WIDTH + 2 * MARGIN + CELL_SIZE - 1) / CELL_SIZE;
+        rows = (GameView.HEIGHT + 2 * MARGIN + CELL_SIZE - 1) / CELL_SIZE;
+        cellStart = new int[columns * rows + 1];
+        entries = new int[256];
+        minColumn = new int[64];
+        maxColumn = new int[64];
+        minRow = new int[64];
+        maxRow = new int[64];
+        layerBits = new int[64];
+        layerMasks = new int[64];
+    }
+
+    /**
+     * Sorts all collidables into the grid, tests the objects sharing a cell and notifies them about collisions.
+     * The hitboxes have to be updated before.
+     *
+     * @param collidables         all game objects that are able to collide.
+     * @param numberOfCollidables number of valid entries in <code>collidables</code>.
+     */
+    void detectCollisionsAndNotifyGameObjects(CollidableGameObject[] collidables, int numberOfCollidables) {
+        rebuild(collidables, numberOfCollidables);
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int cell = row * columns + column;
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    for (int j = i + 1; j < cellStart[cell + 1]; j++) {
+                        testPair(collidables, entries[i], entries[j], column, row);
+                    }
+                }
+            }
+        }
+    }
+
+    private void testPair(CollidableGameObject[] collidables, int a, int b, int column, int row) {
+        if ((layerMasks[a] & layerBits[b]) == 0) {
+            return;
+        }
+        // A pair that shares several cells is only tested in the first one.
+        if (column != Math.max(minColumn[a], minColumn[b]) || row != Math.max(minRow[a], minRow[b])) {
+            return;
+        }
+        CollidableGameObject first = collidables[a];
+        CollidableGameObject second = collidables[b];
+        if (first.intersects(second)) {
+            first.reactToCollision(second);
+            second.reactToCollision(first);
+        }
+    }
+
+    private void rebuild(CollidableGameObject[] collidables, int numberOfCollidables) {
+        ensureObjectCapacity(numberOfCollidables);
+        Arrays.fill(cellStart, 0);
+        int numberOfEntries = 0;
+        for (int index = 0; index < numberOfCollidables; index++) {
+            CollidableGameObject collidable = collidables[index];
+            layerBits[index] = collidable.getCollisionLayer().bit();
+            layerMasks[index] = collidable.getCollisionLayer().mask();
+            Rectangle hitBox = collidable.getHitBox();
+            minColumn[index] = column(hitBox.x);
+            maxColumn[index] = column(hitBox.x + hitBox.width);
+            minRow[index] = row(hitBox.y);
+            maxRow[index] = row(hitBox.y + hitBox.height);
+            for (int row = minRow[index]; row <= maxRow[index]; row++) {
+                for (int column = minColumn[index]; column <= maxColumn[index]; column++) {
+                    cellStart[row * columns + column + 1]++;
+                    numberOfEntries++;
+                }
+            }
+        }
+        for (int cell = 1; cell < cellStart.length; cell++) {
+            cellStart[cell] += cellStart[cell - 1];
+        }
+        if (entries.length < numberOfEntries) {
+            entries = new int[Math.max(numberOfEntries, 2 * entries.length)];
+        }
+        // Objects are filled in by index, so every cell stays sorted.
+        for (int index = 0; index < numberOfCollidables; index++) {
+            for (int row = minRow[index]; row <= maxRow[index]; row++) {
+                for (int column = minColumn[index]; column <= maxColumn[index]; column++) {
+                    entries[cellStart[row * columns + column]++] = index;
+                }
+            }
+        }
+        for (int cell = cellStart.length - 1; cell > 0; cell--) {
+            cellStart[cell] = cellStart[cell - 1];
+        }
+        cellStart[0] = 0;
+    }
+
+    private int column(int x) {
+        return Math.max(0, Math.min(columns - 1, Math.floorDiv(x + MARGIN, CELL_SIZE)));
+    }
+
+    private int row(int y) {
+        return Math.max(0, Math.min(rows - 1, Math.floorDiv(y + MARGIN, CELL_SIZE)));
+    }
+
+    private void ensureObjectCapacity(int size) {
+        if (minColumn.length < size) {
+            int capacity = Math.max(size, 2 * minColumn.length);
+            minColumn = Arrays.copyOf(minColumn, capacity);
+            maxColumn = Arrays.copyOf(maxColumn, capacity);
+            minRow = Arrays.copyOf(minRow, capacity);
+            maxRow = Arrays.copyOf(maxRow, capacity);
+            layerBits = Arrays.copyOf(layerBits, capacity);
+            layerMasks = Arrays.copyOf(layerMasks, capacity);
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package thd.game.managers;
+
+import thd.gameobjects.base.GameObject;
+import thd.gameview.GameView;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * Writes the whole world into a binary snapshot and restores it, without Java serialization.
+ * <p>
+ * A snapshot starts with {@value #MAGIC}, its length in bytes and the difficulty. Then follow the names of all object
+ * types, so each object only needs the index of its type as tag, the state of the {@link GamePlayManager}, the objects
+ * with their tag and their {@link GameObject#writeState(ByteBuffer) state}, the objects that are waiting to be added or
+ * removed, the timers of the game and at last the state of the random numbers. The objects that are in the game come
+ * first, in the order of the game. A restored world therefore continues exactly like the saved one.
+ */
+class WorldSnapshot {
+    /**
+     * "MPW" and the version of the layout. It changes with every change of the layout, so snapshots of other versions
+     * are rejected before anything is read.
+     */
+    static final int MAGIC = 0x4D505732;
+    /**
+     * Magic number, length and difficulty.
+     */
+    static final int HEADER_SIZE = 2 * Integer.BYTES + 1;
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+    /**
+     * Number of the {@link GamePlayManager} as owner of timers, the objects are numbered from 1.
+     */
+    private static final int GAME_PLAY_MANAGER = 0;
+
+    private final GameView gameView;
+    private final GamePlayManager gamePlayManager;
+    private final GameObjectManager gameObjectManager;
+    private final ArrayList<GameObject> objects;
+    private final ObjectNumbers numbers;
+    private final ToIntFunction<Object> numberOfOwner;
+    private final HashMap<Class<?>, Integer> tags;
+    private final ArrayList<byte[]> typeNames;
+    private ByteBuffer buffer;
+
+    WorldSnapshot(GameView gameView, GamePlayManager gamePlayManager, GameObjectManager gameObjectManager) {
+        this.gameView = gameView;
+        this.gamePlayManager = gamePlayManager;
+        this.gameObjectManager = gameObjectManager;
+        objects = new ArrayList<>();
+        numbers = new ObjectNumbers();
+        numberOfOwner = numbers::get;
+        tags = new HashMap<>();
+        typeNames = new ArrayList<>();
+        buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Writes the current world into a new buffer. Must be called by the game loop thread between two ticks.
+     *
+     * @return the snapshot, ready to be read.
+     */
+    ByteBuffer capture() {
+        while (!capture(buffer.clear())) {
+            buffer = ByteBuffer.allocate(2 * buffer.capacity());
+        }
+        buffer.flip();
+        return ByteBuffer.allocate(buffer.remaining()).put(buffer).flip();
+    }
+
+    /**
+     * Writes the current world into the given buffer, starting at its position. Must be called by the game loop thread
+     * between two ticks.
+     *
+     * @param target the buffer.
+     * @return <code>false</code> if the buffer is too small, its content is undefined then.
+     */
+    boolean capture(ByteBuffer target) {
+        int start = target.position();
+        collectObjects();
+        try {
+            write(target);
+            target.putInt(start + Integer.BYTES, target.position() - start);
+            return true;
+        } catch (BufferOverflowException e) {
+            return false;
+        } finally {
+            objects.clear();
+            numbers.clear();
+        }
+    }
+
+    private void collectObjects() {
+        GameObjectStore gameObjects = gameObjectManager.gameObjects;
+        for (int index = 0; index < gameObjects.size(); index++) {
+            addObject(gameObjects.get(index));
+        }
+        ArrayList<GameObject> toAdd = gameObjectManager.toAdd;
+        for (int index = 0; index < toAdd.size(); index++) {
+            if (numbers.get(toAdd.get(index)) == ObjectNumbers.NONE) {
+                addObject(toAdd.get(index));
+            }
+        }
+        numbers.put(gamePlayManager, GAME_PLAY_MANAGER);
+    }
+
+    private void addObject(GameObject gameObject) {
+        objects.add(gameObject);
+        numbers.put(gameObject, objects.size());
+        // The names are encoded once, so writing a keyframe does not create new objects.
+        if (!tags.containsKey(gameObject.getClass())) {
+            tags.put(gameObject.getClass(), typeNames.size());
+            typeNames.add(gameObject.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void write(ByteBuffer buffer) {
+        buffer.putInt(MAGIC);
+        buffer.putInt(0);
+        buffer.put((byte) gamePlayManager.difficulty.ordinal());
+        buffer.putShort((short) typeNames.size());
+        for (int tag = 0; tag < typeNames.size(); tag++) {
+            buffer.putShort((short) typeNames.get(tag).length);
+            buffer.put(typeNames.get(tag));
+        }
+        gamePlayManager.writeState(buffer);
+        buffer.putInt(objects.size());
+        buffer.putInt(gameObjectManager.gameObjects.size());
+        for (int index = 0; index < objects.size(); index++) {
+            GameObject gameObject = objects.get(index);
+            buffer.putShort(tags.get(gameObject.getClass()).shortValue());
+            gameObject.writeState(buffer);
+        }
+        writeNumbers(buffer, gameObjectManager.toAdd);
+        writeNumbers(buffer, gameObjectManager.toRemove);
+        gameView.writeTimers(buffer, numberOfOwner);
+        gamePlayManager.getRandomService().writeState(buffer);
+    }
+
+    private void writeNumbers(ByteBuffer buffer, ArrayList<GameObject> gameObjects) {
+        int countPosition = buffer.position();
+        buffer.putInt(0);
+        int count = 0;
+        for (int index = 0; index < gameObjects.size(); index++) {
+            int number = numbers.get(gameObjects.get(index));
+            if (number != ObjectNumbers.NONE) {
+                buffer.putInt(number);
+                count++;
+            }
+        }
+        buffer.putInt(countPosition, count);
+    }
+
+    /**
+     * Replaces the current world with the snapshot. Must be called by the game loop thread between two ticks. The
+     * snapshot is read completely before the current world is removed, so the world is not changed if the snapshot is
+     * not valid.
+     *
+     * @param snapshot the snapshot from {@link #capture()}.
+     * @throws IOException if the snapshot is not valid.
+     */
+    void restore(ByteBuffer snapshot) throws IOException {
+        ByteBuffer buffer = snapshot.duplicate();
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != snapshot.remaining()) {
+            throw new IOException("The snapshot is not valid or was saved by another version of the game.");
+        }
+        if (buffer.get() != gamePlayManager.difficulty.ordinal()) {
+            throw new IOException("The snapshot was saved with a different difficulty.");
+        }
+        // Reading the snapshot already changes the state of the game play, the random numbers and the Rover and the
+        // Overlay, which are the same objects in every world. It is put back if the snapshot turns out to be invalid.
+        backUpSharedState();
+        GameObject[] restored = new GameObject[0];
+        int numberInGame;
+        int[] numbersToAdd;
+        int[] numbersToRemove;
+        GameView.SavedTimers timers;
+        try {
+            String[] types = readTypes(buffer);
+            gamePlayManager.readState(buffer);
+            restored = new GameObject[readCount(buffer, Short.BYTES)];
+            numberInGame = buffer.getInt();
+            if (numberInGame < 0 || numberInGame > restored.length) {
+                throw new IOException("The snapshot is not valid.");
+            }
+            for (int index = 0; index < restored.length; index++) {
+                restored[index] = gamePlayManager.createGameObject(types[buffer.getShort()]);
+                restored[index].readState(buffer);
+            }
+            numbersToAdd = readNumbers(buffer, restored.length);
+            numbersToRemove = readNumbers(buffer, restored.length);
+            timers = gameView.readTimers(buffer, restored.length + 1);
+            // Objects from pools may draw random numbers when they are reset, so the random numbers come last.
+            gamePlayManager.getRandomService().readState(buffer);
+        } catch (IOException e) {
+            rollBack(restored);
+            throw e;
+        } catch (BufferUnderflowException e) {
+            rollBack(restored);
+            throw new IOException("The snapshot is incomplete.", e);
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            rollBack(restored);
+            throw new IOException("The snapshot is not valid.", e);
+        }
+        gameObjectManager.removeAllGameObjects();
+        gameView.releaseTimers(gamePlayManager);
+        for (int index = 0; index < numberInGame; index++) {
+            gameObjectManager.gameObjects.add(restored[index]);
+        }
+        for (int number : numbersToAdd) {
+            gameObjectManager.toAdd.add(restored[number - 1]);
+        }
+        for (int number : numbersToRemove) {
+            gameObjectManager.toRemove.add(restored[number - 1]);
+        }
+        GameObject[] owners = restored;
+        gameView.restoreTimers(timers, number -> number == GAME_PLAY_MANAGER ? gamePlayManager : owners[number - 1]);
+    }
+
+    private String[] readTypes(ByteBuffer buffer) throws IOException {
+        String[] types = new String[readCount(buffer.getShort(), buffer, Short.BYTES)];
+        for (int tag = 0; tag < types.length; tag++) {
+            byte[] bytes = new byte[readCount(buffer.getShort(), buffer, 1)];
+            buffer.get(bytes);
+            types[tag] = new String(bytes, StandardCharsets.UTF_8);
+            if (!gamePlayManager.canCreateGameObject(types[tag])) {
+                throw new IOException("The snapshot contains the unknown type " + types[tag] + ".");
+            }
+        }
+        return types;
+    }
+
+    private int[] readNumbers(ByteBuffer buffer, int numberOfObjects) throws IOException {
+        int[] numbers = new int[readCount(buffer, Integer.BYTES)];
+        for (int index = 0; index < numbers.length; index++) {
+            numbers[index] = buffer.getInt();
+            if (numbers[index] < 1 || numbers[index] > numberOfObjects) {
+                throw new IOException("The snapshot is not valid.");
+            }
+        }
+        return numbers;
+    }
+
+    private static int readCount(ByteBuffer buffer, int minimumSizeOfEntry) throws IOException {
+        return readCount(buffer.getInt(), buffer, minimumSizeOfEntry);
+    }
+
+    // A damaged count must not allocate huge arrays before the end of the buffer is noticed.
+    private static int readCount(int count, ByteBuffer buffer, int minimumSizeOfEntry) throws IOException {
+        if (count < 0 || count > buffer.remaining() / minimumSizeOfEntry) {
+            throw new IOException("The snapshot is not valid.");
+        }
+        return count;
+    }
+
+    private void backUpSharedState() {
+        while (true) {
+            try {
+                buffer.clear();
+                gamePlayManager.writeState(buffer);
+                gamePlayManager.getRandomService().writeState(buffer);
+                gameObjectManager.rover.writeState(buffer);
+                gameObjectManager.overlay.writeState(buffer);
+                buffer.flip();
+                return;
+            } catch (BufferOverflowException e) {
+                buffer = ByteBuffer.allocate(2 * buffer.capacity());
+            }
+        }
+    }
+
+    private void rollBack(GameObject[] restored) {
+        gamePlayManager.readState(buffer);
+        gamePlayManager.getRandomService().readState(buffer);
+        gameObjectManager.rover.readState(buffer);
+        gameObjectManager.overlay.readState(buffer);
+        Set<Object> created = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (GameObject gameObject : restored) {
+            if (gameObject != null && gameObject != gameObjectManager.rover
+                && gameObject != gameObjectManager.overlay) {
+                created.add(gameObject);
+            }
+        }
+        gameView.releaseTimersOfAll(created);
+        for (GameObject gameObject : restored) {
+            if (created.contains(gameObject)) {
+                gameObject.recycle();
+            }
+        }
+    }
+
+    /**
+     * Numbers of the objects of a snapshot, the objects are compared by identity. The numbers are kept as int, so
+     * numbering thousands of objects for every keyframe does not create an Integer for each of them.
+     */
+    private static final class ObjectNumbers {
+        static final int NONE = -1;
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private Object[] keys;
+        private int[] values;
+        private int size;
+
+        private ObjectNumbers() {
+            keys = new Object[INITIAL_CAPACITY];
+            values = new int[INITIAL_CAPACITY];
+        }
+
+        void put(Object key, int number) {
+            if (2 * (size + 1) > keys.length) {
+                grow();
+            }
+            int slot = slot(key);
+            if (keys[slot] == null) {
+                keys[slot] = key;
+                size++;
+            }
+            values[slot] = number;
+        }
+
+        /**
+         * Gets the number of the object.
+         *
+         * @param key the object.
+         * @return the number, {@value #NONE} if the object has no number.
+         */
+        int get(Object key) {
+            int slot = slot(key);
+            return keys[slot] == null ? NONE : values[slot];
+        }
+
+        void clear() {
+            Arrays.fill(keys, null);
+            size = 0;
+        }
+
+        private int slot(Object key) {
+            int mask = keys.length - 1;
+            int hash = System.identityHashCode(key);
+            int slot = (hash ^ hash >>> 16) & mask;
+            while (keys[slot] != null && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            Object[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new Object[2 * oldKeys.length];
+            values = new int[2 * oldKeys.length];
+            size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != null) {
+                    put(oldKeys[slot], oldValues[slot]);
+                }
+            }
+        }
+    }
+}
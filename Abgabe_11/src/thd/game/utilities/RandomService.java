@@ -0,0 +1,172 @@
+package thd.game.utilities;
+
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+
+/**
+ * Central source of random numbers for the game. Every subsystem draws from its own {@link Stream}, so e.g. more
+ * bullets on the screen do not change which enemies are spawned. All streams are derived from a single master seed, a
+ * game can be replayed by reseeding with the same seed. The state of the streams can be saved and restored, e.g.
+ * together with the world, so the game continues with the same numbers.
+ * <p>
+ * The generators are not synchronized and must only be used by the game loop thread.
+ */
+public class RandomService {
+    private static final Stream[] STREAMS = Stream.values();
+
+    private final RandomStream[] randomStreams;
+    private long seed;
+
+    /**
+     * Subsystems that draw random numbers.
+     */
+    public enum Stream {
+        /**
+         * Decisions which enemies are spawned.
+         */
+        SPAWNING,
+        /**
+         * Behaviour of the game objects, e.g. spawn and target positions.
+         */
+        GAME_OBJECTS
+    }
+
+    /**
+     * Creates the service and seeds all streams.
+     *
+     * @param seed the master seed.
+     */
+    public RandomService(long seed) {
+        randomStreams = new RandomStream[STREAMS.length];
+        for (int index = 0; index < randomStreams.length; index++) {
+            randomStreams[index] = new RandomStream();
+        }
+        reseed(seed);
+    }
+
+    /**
+     * Restarts all streams from the given master seed. Streams that were handed out before keep working and produce
+     * the same numbers as after a start with this seed.
+     *
+     * @param seed the master seed.
+     */
+    public void reseed(long seed) {
+        this.seed = seed;
+        SplittableRandom master = new SplittableRandom(seed);
+        for (RandomStream randomStream : randomStreams) {
+            randomStream.state = master.nextLong();
+        }
+    }
+
+    /**
+     * Writes the seed and the state of all streams into the buffer.
+     *
+     * @param buffer the buffer.
+     */
+    public void writeState(ByteBuffer buffer) {
+        buffer.putLong(seed);
+        for (RandomStream randomStream : randomStreams) {
+            buffer.putLong(randomStream.state);
+        }
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(ByteBuffer)}. Streams that were handed out before continue with
+     * the restored numbers.
+     *
+     * @param buffer the buffer.
+     */
+    public void readState(ByteBuffer buffer) {
+        seed = buffer.getLong();
+        for (RandomStream randomStream : randomStreams) {
+            randomStream.state = buffer.getLong();
+        }
+    }
+
+    /**
+     * Gets the master seed of the current run.
+     *
+     * @return the seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the random numbers of a subsystem.
+     *
+     * @param stream the subsystem.
+     * @return the stream of random numbers.
+     */
+    public RandomStream stream(Stream stream) {
+        return randomStreams[stream.ordinal()];
+    }
+
+    /**
+     * Random numbers of one subsystem. The numbers are generated like by {@link SplittableRandom}, whose state can not be
+     * read, so it can not be saved.
+     */
+    public static class RandomStream {
+        private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+        private long state;
+
+        private RandomStream() {
+        }
+
+        private long nextSeed() {
+            state += GOLDEN_GAMMA;
+            return state;
+        }
+
+        private static long mix64(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+
+        private static int mix32(long z) {
+            z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+            return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+        }
+
+        /**
+         * Returns a random number between 0 (inclusive) and the bound (exclusive).
+         *
+         * @param bound the upper bound, must be positive.
+         * @return the random number.
+         */
+        public int nextInt(int bound) {
+            if (bound <= 0) {
+                throw new IllegalArgumentException("The bound must be positive.");
+            }
+            int random = mix32(nextSeed());
+            int mask = bound - 1;
+            if ((bound & mask) == 0) {
+                return random & mask;
+            }
+            // Numbers from the last, incomplete range are rejected, small numbers would be more likely otherwise.
+            for (int unsigned = random >>> 1; unsigned + mask - (random = unsigned % bound) < 0; ) {
+                unsigned = mix32(nextSeed()) >>> 1;
+            }
+            return random;
+        }
+
+        /**
+         * Returns a random number between 0 (inclusive) and 1 (exclusive).
+         *
+         * @return the random number.
+         */
+        public double nextDouble() {
+            return (mix64(nextSeed()) >>> 11) * 0x1.0p-53;
+        }
+
+        /**
+         * Returns a random boolean.
+         *
+         * @return the random boolean.
+         */
+        public boolean nextBoolean() {
+            return mix32(nextSeed()) < 0;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import thd.game.managers.GamePlayManager;
 import thd.gameview.GameView;
 
 import java.awt.*;
+import java.nio.ByteBuffer;
 
 /**
  * Game objects that are able to collide with something.
@@ -14,6 +15,10 @@ public abstract class CollidableGameObject extends GameObject {
     protected double hitBoxOffsetY;
     protected double hitBoxWidth;
     protected double hitBoxHeight;
+    /**
+     * Layer of the object. Only objects of layers that are able to interact are tested for collisions.
+     */
+    protected CollisionLayer collisionLayer;
 
     /**
      * Crates a new GameObject.
@@ -29,7 +34,10 @@ public abstract class CollidableGameObject extends GameObject {
 
     protected abstract void initializeHitbox();
 
-    private void updateHitBoxPosition() {
+    /**
+     * Moves the hitbox to the current position of the game object.
+     */
+    public final void updateHitBoxPosition() {
         hitBox.x = (int) (position.x + hitBoxOffsetX);
         hitBox.y = (int) (position.y + hitBoxOffsetY);
         hitBox.width = (int) hitBoxWidth;
@@ -50,6 +58,45 @@ public abstract class CollidableGameObject extends GameObject {
         return hitBox.intersects(other.hitBox);
     }
 
+    /**
+     * Gets the collision layer of the object.
+     *
+     * @return the collision layer.
+     */
+    public final CollisionLayer getCollisionLayer() {
+        return collisionLayer;
+    }
+
+    /**
+     * Checks with the collision layers if the two objects are able to interact at all.
+     *
+     * @param other The other game object.
+     * @return <code>true</code> if the objects need to be tested for collisions.
+     */
+    public final boolean canCollideWith(CollidableGameObject other) {
+        return collisionLayer.canCollideWith(other.collisionLayer);
+    }
+
+    /**
+     * Determines if the hitboxes intersect, without moving them to the current positions first. Both hitboxes have to
+     * be updated with {@link #updateHitBoxPosition()} before.
+     *
+     * @param other The other game object.
+     * @return <code>true</code> if the hitboxes intersect.
+     */
+    public final boolean intersects(CollidableGameObject other) {
+        return hitBox.intersects(other.hitBox);
+    }
+
+    /**
+     * Gets the hitbox as it was calculated by the last call of {@link #updateHitBoxPosition()}. It must not be changed.
+     *
+     * @return the hitbox.
+     */
+    public final Rectangle getHitBox() {
+        return hitBox;
+    }
+
     /**
      * If a game object is collided with something, it is able to react to the collision.
      *
@@ -57,6 +104,23 @@ public abstract class CollidableGameObject extends GameObject {
      */
     public abstract void reactToCollision(CollidableGameObject other);
 
+    @Override
+    public void writeState(ByteBuffer buffer) {
+        super.writeState(buffer);
+        buffer.putDouble(hitBoxOffsetX).putDouble(hitBoxOffsetY);
+        buffer.putDouble(hitBoxWidth).putDouble(hitBoxHeight);
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+        super.readState(buffer);
+        hitBoxOffsetX = buffer.getDouble();
+        hitBoxOffsetY = buffer.getDouble();
+        hitBoxWidth = buffer.getDouble();
+        hitBoxHeight = buffer.getDouble();
+        updateHitBoxPosition();
+    }
+
     @Override
     public void worldHasMoved(double shiftX, double shiftY) {
         super.worldHasMoved(shiftX, shiftY);
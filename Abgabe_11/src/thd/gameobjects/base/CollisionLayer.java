@@ -0,0 +1,52 @@
+package thd.gameobjects.base;
+
+/**
+ * Layer of a {@link CollidableGameObject}. Objects are only tested for collisions if their layers are able to interact
+ * with each other.
+ */
+public enum CollisionLayer {
+    PLAYER, PLAYER_BULLET, ENEMY, ENEMY_BULLET, TERRAIN;
+
+    private int mask;
+
+    static {
+        allow(PLAYER, ENEMY_BULLET);
+        allow(PLAYER, TERRAIN);
+        allow(PLAYER_BULLET, ENEMY);
+        allow(PLAYER_BULLET, ENEMY_BULLET);
+        allow(PLAYER_BULLET, TERRAIN);
+    }
+
+    private static void allow(CollisionLayer first, CollisionLayer second) {
+        first.mask |= second.bit();
+        second.mask |= first.bit();
+    }
+
+    /**
+     * Gets the bit that represents this layer in a mask.
+     *
+     * @return the bit of this layer.
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Gets all layers this layer is able to interact with as bitmask.
+     *
+     * @return the mask of layers.
+     */
+    public int mask() {
+        return mask;
+    }
+
+    /**
+     * Checks if objects of the two layers are able to interact.
+     *
+     * @param other the other layer.
+     * @return <code>true</code> if the layers need to be tested for collisions.
+     */
+    public boolean canCollideWith(CollisionLayer other) {
+        return (mask & other.bit()) != 0;
+    }
+}
@@ -3,12 +3,14 @@ package thd.gameobjects.base;
 import thd.game.managers.GamePlayManager;
 import thd.gameview.GameView;
 
+import java.nio.ByteBuffer;
+
 /**
  * Is an Object which moves in the upper half of the screen and tries to shoot the Rover.
  */
 public abstract class FlyingObject extends CollidableGameObject {
 
-    protected Position targetPosition;
+    protected final Position targetPosition;
     protected boolean isAtTargetPosition;
 
     /**
@@ -19,6 +21,22 @@ public abstract class FlyingObject extends CollidableGameObject {
      */
     public FlyingObject(GameView gameView, GamePlayManager gamePlayManager) {
         super(gameView, gamePlayManager);
+        targetPosition = new Position(0, 0);
+    }
+
+    @Override
+    public void writeState(ByteBuffer buffer) {
+        super.writeState(buffer);
+        buffer.putDouble(targetPosition.x).putDouble(targetPosition.y);
+        buffer.put((byte) (isAtTargetPosition ? 1 : 0));
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+        super.readState(buffer);
+        targetPosition.x = buffer.getDouble();
+        targetPosition.y = buffer.getDouble();
+        isAtTargetPosition = buffer.get() == 1;
     }
 
     protected void generateRandomSpawnPosition() {
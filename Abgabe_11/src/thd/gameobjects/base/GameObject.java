@@ -1,9 +1,11 @@
 package thd.gameobjects.base;
 
 import thd.game.managers.GamePlayManager;
+import thd.game.utilities.RandomService;
 import thd.gameview.GameView;
 
-import java.util.Random;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 
 /**
  * Upperclass for game objects which will get displayed on {@link GameView}.
@@ -19,10 +21,11 @@ public abstract class GameObject {
      * Position of the object.
      */
     protected final Position position;
+    private final Position previousPosition;
     /**
      * orientation of the object.
      */
-    protected final Random random;
+    protected final RandomService.RandomStream random;
     protected double rotation;
     /**
      * size of the object. 1 is original scale.
@@ -41,6 +44,17 @@ public abstract class GameObject {
      */
     protected double height;
 
+    /**
+     * layer the object is drawn in.
+     */
+    protected RenderLayer renderLayer;
+
+    /**
+     * pool the object returns to when it is removed from the game, <code>null</code> if it was not taken from a pool.
+     */
+    GameObjectPool<?> pool;
+    boolean inPool;
+
     /**
      * Initializes the GameObject.
      *
@@ -50,8 +64,9 @@ public abstract class GameObject {
     public GameObject(GameView gameView, GamePlayManager gamePlayManager) {
         this.gameView = gameView;
         this.gamePlayManager = gamePlayManager;
-        random = new Random();
+        random = gamePlayManager.getRandomService().stream(RandomService.Stream.GAME_OBJECTS);
         position = new Position(0, 0);
+        previousPosition = new Position(0, 0);
     }
 
     /**
@@ -73,6 +88,126 @@ public abstract class GameObject {
         return position;
     }
 
+    /**
+     * Stores the current position as the position of the last simulation tick. Between two ticks the object is drawn
+     * at a position between the stored and the current position.
+     */
+    public final void rememberPosition() {
+        previousPosition.x = position.x;
+        previousPosition.y = position.y;
+    }
+
+    /**
+     * Adds the object to the canvas at the position between the last and the current simulation tick.
+     *
+     * @param alpha progress between the last tick (0) and the current tick (1).
+     */
+    public final void addToCanvas(double alpha) {
+        double x = position.x;
+        double y = position.y;
+        position.x = previousPosition.x + (x - previousPosition.x) * alpha;
+        position.y = previousPosition.y + (y - previousPosition.y) * alpha;
+        addToCanvas();
+        position.x = x;
+        position.y = y;
+    }
+
+    /**
+     * Restores the state the object had after it was created. Called by the {@link GameObjectPool} before a recycled
+     * object is used again.
+     */
+    protected void reset() {
+    }
+
+    /**
+     * Returns the object to the pool it was taken from. Objects that were not taken from a pool are ignored. Must only
+     * be called after the object was removed from the game.
+     */
+    public final void recycle() {
+        if (pool != null && !inPool) {
+            inPool = true;
+            pool.recycle(this);
+        }
+    }
+
+    /**
+     * Writes the state of the object into the buffer, e.g. to save the game. Subclasses with their own state override
+     * this method, call it first and read their state in {@link #readState(ByteBuffer)} in the same order.
+     *
+     * @param buffer the buffer.
+     */
+    public void writeState(ByteBuffer buffer) {
+        buffer.putDouble(position.x).putDouble(position.y);
+        buffer.putDouble(previousPosition.x).putDouble(previousPosition.y);
+        buffer.putDouble(rotation).putDouble(size).putDouble(speedInPixel);
+        buffer.putDouble(width).putDouble(height);
+    }
+
+    /**
+     * Restores the state that was written by {@link #writeState(ByteBuffer)}.
+     *
+     * @param buffer the buffer.
+     */
+    public void readState(ByteBuffer buffer) {
+        position.x = buffer.getDouble();
+        position.y = buffer.getDouble();
+        previousPosition.x = buffer.getDouble();
+        previousPosition.y = buffer.getDouble();
+        rotation = buffer.getDouble();
+        size = buffer.getDouble();
+        speedInPixel = buffer.getDouble();
+        width = buffer.getDouble();
+        height = buffer.getDouble();
+    }
+
+    /**
+     * Writes a text into the buffer, for {@link #writeState(ByteBuffer)}. The chars are written as they are, so no
+     * encoded copy of the text is created.
+     *
+     * @param buffer the buffer.
+     * @param string the text, may be <code>null</code>.
+     */
+    protected static void putString(ByteBuffer buffer, String string) {
+        if (string == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(string.length());
+        for (int index = 0; index < string.length(); index++) {
+            buffer.putChar(string.charAt(index));
+        }
+    }
+
+    /**
+     * Reads a text that was written by {@link #putString(ByteBuffer, String)}.
+     *
+     * @param buffer the buffer.
+     * @return the text, may be <code>null</code>.
+     */
+    protected static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining() / Character.BYTES) {
+            throw new BufferUnderflowException();
+        }
+        char[] chars = new char[length];
+        for (int index = 0; index < length; index++) {
+            chars[index] = buffer.getChar();
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Gets the layer the object is drawn in.
+     *
+     * @return the render layer
+     */
+    public RenderLayer getRenderLayer() {
+        return renderLayer;
+    }
+
     /**
      * corrects position.
      *
@@ -0,0 +1,68 @@
+package thd.gameobjects.base;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+/**
+ * Keeps game objects of one type that were removed from the game, so they can be used again instead of creating new
+ * ones. Objects taken from the pool return to it automatically when they are removed from the game.
+ *
+ * @param <T> type of the game objects.
+ */
+public class GameObjectPool<T extends GameObject> {
+    private final Supplier<T> factory;
+    private final ArrayDeque<T> unusedGameObjects;
+    private int numberOfCreatedGameObjects;
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param factory creates a new object if the pool is empty.
+     */
+    public GameObjectPool(Supplier<T> factory) {
+        this.factory = factory;
+        unusedGameObjects = new ArrayDeque<>();
+    }
+
+    /**
+     * Takes an object from the pool. Recycled objects are {@link GameObject#reset() reset} before, new objects are
+     * created by the factory. The caller still has to set the position and spawn the object.
+     *
+     * @return an object that is ready to be used.
+     */
+    public T obtain() {
+        T gameObject = unusedGameObjects.poll();
+        if (gameObject == null) {
+            gameObject = factory.get();
+            numberOfCreatedGameObjects++;
+        } else {
+            gameObject.reset();
+        }
+        gameObject.pool = this;
+        gameObject.inPool = false;
+        return gameObject;
+    }
+
+    @SuppressWarnings("unchecked")
+    void recycle(GameObject gameObject) {
+        unusedGameObjects.push((T) gameObject);
+    }
+
+    /**
+     * Number of objects that are waiting in the pool.
+     *
+     * @return the number of unused objects.
+     */
+    public int numberOfUnusedGameObjects() {
+        return unusedGameObjects.size();
+    }
+
+    /**
+     * Number of objects that the pool had to create, because it was empty.
+     *
+     * @return the number of created objects.
+     */
+    public int numberOfCreatedGameObjects() {
+        return numberOfCreatedGameObjects;
+    }
+}
@@ -0,0 +1,9 @@
+package thd.gameobjects.base;
+
+/**
+ * Layer a {@link GameObject} is drawn in. The layers are drawn from the first to the last, so the HUD is always on top.
+ * Objects in the same layer are drawn in the order in which they were spawned.
+ */
+public enum RenderLayer {
+    BACKGROUND, TERRAIN, ENEMIES, PLAYER, PROJECTILES, HUD
+}
@@ -3,7 +3,8 @@ package thd.gameobjects.movable;
 import thd.game.managers.GamePlayManager;
 import thd.gameobjects.base.AutoMovable;
 import thd.gameobjects.base.CollidableGameObject;
-import thd.gameobjects.base.Position;
+import thd.gameobjects.base.CollisionLayer;
+import thd.gameobjects.base.RenderLayer;
 import thd.gameview.GameView;
 
 import java.awt.*;
@@ -19,18 +20,28 @@ class BulletDown extends CollidableGameObject implements AutoMovable {
      *
      * @param gameView        is the window it is displayed.
      * @param gamePlayManager is the manager, which makes sure that the objects are spawned and destroyed.
-     * @param position        is the position the Bullet should spawn
      */
-    BulletDown(GameView gameView, GamePlayManager gamePlayManager, Position position) {
+    BulletDown(GameView gameView, GamePlayManager gamePlayManager) {
         super(gameView, gamePlayManager);
-        this.position.x = position.x;
-        this.position.y = position.y;
+        renderLayer = RenderLayer.PROJECTILES;
         speedInPixel = 1;
         width = 150;
     }
 
+    /**
+     * Places the bullet below the Ufo.
+     *
+     * @param x x-coordinate of the Ufo.
+     * @param y y-coordinate of the Ufo.
+     */
+    void initialize(double x, double y) {
+        position.x = x;
+        position.y = y;
+    }
+
     @Override
     protected void initializeHitbox() {
+        collisionLayer = CollisionLayer.ENEMY_BULLET;
         hitBoxWidth = 15;
         hitBoxHeight = 15;
         hitBoxOffsetX = 0;
@@ -3,40 +3,60 @@ package thd.gameobjects.movable;
 import thd.game.managers.GamePlayManager;
 import thd.gameobjects.base.AutoMovable;
 import thd.gameobjects.base.CollidableGameObject;
-import thd.gameobjects.base.Position;
+import thd.gameobjects.base.CollisionLayer;
+import thd.gameobjects.base.RenderLayer;
 import thd.gameview.GameView;
 
 import java.awt.*;
+import java.nio.ByteBuffer;
 
 /**
  * BulletRight gets shot by the Rover. It moves in the right direction.
  */
 class BulletRight extends CollidableGameObject implements AutoMovable {
 
-    private final Rover rover;
-    private final double startPoint;
+    private double startPoint;
 
     /**
      * Initializes the BulletRight.
      *
      * @param gameView        is the window it is displayed.
      * @param gamePlayManager is the manager, which makes sure that the objects are spawned and destroyed.
-     * @param position        is the position the Bullet should spawn
-     * @param rover           helps the Bullet to get destroyed at the right position
      */
-    BulletRight(GameView gameView, GamePlayManager gamePlayManager, Position position, Rover rover) {
+    BulletRight(GameView gameView, GamePlayManager gamePlayManager) {
         super(gameView, gamePlayManager);
-        this.position.x = position.x + 100;
-        this.position.y = position.y;
-        this.rover = rover;
-        position.x += 110;
-        startPoint = position.x;
+        renderLayer = RenderLayer.PROJECTILES;
         speedInPixel = 3;
         width = 150;
     }
 
+    /**
+     * Places the bullet in front of the Rover.
+     *
+     * @param x x-coordinate of the Rover.
+     * @param y y-coordinate of the Rover.
+     */
+    void initialize(double x, double y) {
+        position.x = x + 100;
+        position.y = y;
+        startPoint = x + 110;
+    }
+
+    @Override
+    public void writeState(ByteBuffer buffer) {
+        super.writeState(buffer);
+        buffer.putDouble(startPoint);
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+        super.readState(buffer);
+        startPoint = buffer.getDouble();
+    }
+
     @Override
     protected void initializeHitbox() {
+        collisionLayer = CollisionLayer.PLAYER_BULLET;
         hitBoxWidth = 15;
         hitBoxHeight = 15;
         hitBoxOffsetX = 37;
@@ -48,7 +68,7 @@ class BulletRight extends CollidableGameObject implements AutoMovable {
     public void reactToCollision(CollidableGameObject other) {
         if (other.getClass() == Rock.class) {
             gamePlayManager.destroy(this);
-            rover.allowedToShoot = true;
+            gamePlayManager.getRover().allowedToShoot = true;
         }
     }
 
@@ -57,7 +77,7 @@ class BulletRight extends CollidableGameObject implements AutoMovable {
     public void updateStatus() {
         if (position.x - startPoint > width) {
             gamePlayManager.destroy(this);
-            rover.allowedToShoot = true;
+            gamePlayManager.getRover().allowedToShoot = true;
         }
     }
 
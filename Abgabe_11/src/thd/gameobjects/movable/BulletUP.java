@@ -3,7 +3,8 @@ package thd.gameobjects.movable;
 import thd.game.managers.GamePlayManager;
 import thd.gameobjects.base.AutoMovable;
 import thd.gameobjects.base.CollidableGameObject;
-import thd.gameobjects.base.Position;
+import thd.gameobjects.base.CollisionLayer;
+import thd.gameobjects.base.RenderLayer;
 import thd.gameview.GameView;
 
 import java.awt.*;
@@ -19,19 +20,27 @@ class BulletUP extends CollidableGameObject implements AutoMovable {
      *
      * @param gameView        is the window it is displayed.
      * @param gamePlayManager is the manager, which makes sure that the objects are spawned and destroyed.
-     * @param position        is the position the Bullet should spawn
      */
-    BulletUP(GameView gameView, GamePlayManager gamePlayManager, Position position) {
+    BulletUP(GameView gameView, GamePlayManager gamePlayManager) {
         super(gameView, gamePlayManager);
-        this.position.x = position.x + 50;
-        this.position.y = position.y;
-        position.y += 20;
-        position.x += 70;
+        renderLayer = RenderLayer.PROJECTILES;
         speedInPixel = 5;
     }
 
+    /**
+     * Places the bullet at the cannon of the Rover.
+     *
+     * @param x x-coordinate of the Rover.
+     * @param y y-coordinate of the Rover.
+     */
+    void initialize(double x, double y) {
+        position.x = x + 50;
+        position.y = y;
+    }
+
     @Override
     protected void initializeHitbox() {
+        collisionLayer = CollisionLayer.PLAYER_BULLET;
         hitBoxWidth = 8;
         hitBoxHeight = 8;
         hitBoxOffsetX = 6;
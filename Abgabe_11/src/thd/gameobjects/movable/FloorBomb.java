@@ -3,6 +3,8 @@ package thd.gameobjects.movable;
 import thd.game.managers.GamePlayManager;
 import thd.gameobjects.base.AutoMovable;
 import thd.gameobjects.base.CollidableGameObject;
+import thd.gameobjects.base.CollisionLayer;
+import thd.gameobjects.base.RenderLayer;
 import thd.gameview.GameView;
 
 import java.awt.*;
@@ -19,6 +21,7 @@ public class FloorBomb extends CollidableGameObject implements AutoMovable {
      */
     public FloorBomb(GameView gameView, GamePlayManager gamePlayManager) {
         super(gameView, gamePlayManager);
+        renderLayer = RenderLayer.TERRAIN;
         position.x = GameView.WIDTH;
         position.y = GameView.HEIGHT - 10;
         speedInPixel = 4;
@@ -26,6 +29,7 @@ public class FloorBomb extends CollidableGameObject implements AutoMovable {
 
     @Override
     protected void initializeHitbox() {
+        collisionLayer = CollisionLayer.TERRAIN;
         hitBoxWidth = 20;
         hitBoxHeight = 5;
         hitBoxOffsetX = 0;
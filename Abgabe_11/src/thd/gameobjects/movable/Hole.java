@@ -2,6 +2,8 @@ package thd.gameobjects.movable;
 
 import thd.game.managers.GamePlayManager;
 import thd.gameobjects.base.CollidableGameObject;
+import thd.gameobjects.base.CollisionLayer;
+import thd.gameobjects.base.RenderLayer;
 import thd.gameview.GameView;
 
 /**
@@ -16,13 +18,14 @@ class Hole extends CollidableGameObject {
      */
     Hole(GameView gameView, GamePlayManager gamePlayManager) {
         super(gameView, gamePlayManager);
+        renderLayer = RenderLayer.TERRAIN;
         width = 80;
         height = 20;
     }
 
     @Override
     protected void initializeHitbox() {
-
+        collisionLayer = CollisionLayer.TERRAIN;
     }
 
     @Override
@@ -2,15 +2,18 @@ package thd.gameobjects.movable;
 
 import thd.game.managers.GamePlayManager;
 import thd.gameobjects.base.GameObject;
+import thd.gameobjects.base.RenderLayer;
 import thd.gameview.GameView;
 
+import java.nio.ByteBuffer;
+
 /**
  * Background.
  */
 public class MovableBackground extends GameObject {
 
 
-    private final String city;
+    private String city;
 
     /**
      * Initializes the GameObject.
@@ -21,6 +24,7 @@ public class MovableBackground extends GameObject {
      */
     public MovableBackground(GameView gameView, GamePlayManager gamePlayManager, String city) {
         super(gameView, gamePlayManager);
+        renderLayer = RenderLayer.BACKGROUND;
         this.city = city;
         initializePositionY();
 
@@ -36,6 +40,18 @@ public class MovableBackground extends GameObject {
         position.y = GameView.HEIGHT - size;
     }
 
+    @Override
+    public void writeState(ByteBuffer buffer) {
+        super.writeState(buffer);
+        putString(buffer, city);
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+        super.readState(buffer);
+        city = getString(buffer);
+    }
+
     @Override
     public void updateStatus() {
     }
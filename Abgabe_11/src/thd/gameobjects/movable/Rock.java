@@ -2,6 +2,8 @@ package thd.gameobjects.movable;
 
 import thd.game.managers.GamePlayManager;
 import thd.gameobjects.base.CollidableGameObject;
+import thd.gameobjects.base.CollisionLayer;
+import thd.gameobjects.base.RenderLayer;
 import thd.gameview.GameView;
 
 import java.awt.*;
@@ -20,6 +22,7 @@ public class Rock extends CollidableGameObject {
      */
     public Rock(GameView gameView, GamePlayManager gamePlayManager) {
         super(gameView, gamePlayManager);
+        renderLayer = RenderLayer.TERRAIN;
         width = 40;
         height = 40;
         position.x = GameView.WIDTH;
@@ -29,6 +32,7 @@ public class Rock extends CollidableGameObject {
 
     @Override
     protected void initializeHitbox() {
+        collisionLayer = CollisionLayer.TERRAIN;
         hitBoxWidth = 40;
         hitBoxHeight = 40;
         hitBoxOffsetX = 0;
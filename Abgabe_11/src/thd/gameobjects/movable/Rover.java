@@ -3,9 +3,13 @@ package thd.gameobjects.movable;
 import thd.game.managers.GamePlayManager;
 import thd.gameobjects.base.AutoMovable;
 import thd.gameobjects.base.CollidableGameObject;
-import thd.gameobjects.base.Position;
+import thd.gameobjects.base.CollisionLayer;
+import thd.gameobjects.base.GameObjectPool;
+import thd.gameobjects.base.RenderLayer;
 import thd.gameview.GameView;
 
+import java.nio.ByteBuffer;
+
 /**
  * An object which can be controlled by the Player. It can drive and shoot.
  */
@@ -18,6 +22,9 @@ public class Rover extends CollidableGameObject implements AutoMovable {
     private int shotsPerSecondUp;
     private boolean jumpUP;
     private boolean jumping;
+    private final GameView.TimerHandle bulletUpTimer;
+    private final GameObjectPool<BulletUP> bulletUpPool;
+    private final GameObjectPool<BulletRight> bulletRightPool;
 
     /**
      * An Rover is generated.
@@ -27,6 +34,7 @@ public class Rover extends CollidableGameObject implements AutoMovable {
      */
     public Rover(GameView gameView, GamePlayManager gamePlayManager) {
         super(gameView, gamePlayManager);
+        renderLayer = RenderLayer.PLAYER;
         position.x = 200;
         position.y = GameView.HEIGHT - 55;
         speedInPixel = 1;
@@ -38,6 +46,9 @@ public class Rover extends CollidableGameObject implements AutoMovable {
         rotation = 0;
         movingUp = false;
         damageState = DamageState.STANDARD;
+        bulletUpTimer = gameView.createTimer("bullet-up", this);
+        bulletUpPool = gamePlayManager.pool(BulletUP.class, () -> new BulletUP(gameView, gamePlayManager));
+        bulletRightPool = gamePlayManager.pool(BulletRight.class, () -> new BulletRight(gameView, gamePlayManager));
     }
 
     private enum DamageState {
@@ -54,8 +65,31 @@ public class Rover extends CollidableGameObject implements AutoMovable {
         }
     }
 
+    @Override
+    public void writeState(ByteBuffer buffer) {
+        super.writeState(buffer);
+        buffer.put((byte) (allowedToShoot ? 1 : 0));
+        buffer.put((byte) (movingUp ? 1 : 0));
+        buffer.put((byte) damageState.ordinal());
+        buffer.putInt(shotsPerSecondUp);
+        buffer.put((byte) (jumpUP ? 1 : 0));
+        buffer.put((byte) (jumping ? 1 : 0));
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+        super.readState(buffer);
+        allowedToShoot = buffer.get() == 1;
+        movingUp = buffer.get() == 1;
+        damageState = DamageState.values()[buffer.get()];
+        shotsPerSecondUp = buffer.getInt();
+        jumpUP = buffer.get() == 1;
+        jumping = buffer.get() == 1;
+    }
+
     @Override
     protected void initializeHitbox() {
+        collisionLayer = CollisionLayer.PLAYER;
         hitBoxWidth = 130;
         hitBoxHeight = 50;
         hitBoxOffsetX = 2;
@@ -131,14 +165,16 @@ public class Rover extends CollidableGameObject implements AutoMovable {
      * shoots.
      */
     public void shoot() {
-        if (!gameView.timerIsActive("bullet-up", this)) {
-            gameView.activateTimer("bullet-up", this, (long) (1000 / shotsPerSecondUp));
-            BulletUP roverBulletUP = new BulletUP(gameView, gamePlayManager, new Position(position.x, position.y));
+        if (!gameView.timerIsActive(bulletUpTimer)) {
+            gameView.activateTimer(bulletUpTimer, (long) (1000 / shotsPerSecondUp));
+            BulletUP roverBulletUP = bulletUpPool.obtain();
+            roverBulletUP.initialize(position.x, position.y);
             gamePlayManager.spawn(roverBulletUP);
         }
 
         if (allowedToShoot) {
-            BulletRight roverBulletRight = new BulletRight(gameView, gamePlayManager, new Position(position.x, position.y), this);
+            BulletRight roverBulletRight = bulletRightPool.obtain();
+            roverBulletRight.initialize(position.x, position.y);
             gamePlayManager.spawn(roverBulletRight);
             allowedToShoot = false;
         }
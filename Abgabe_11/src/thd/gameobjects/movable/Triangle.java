@@ -3,10 +3,13 @@ package thd.gameobjects.movable;
 import thd.game.managers.GamePlayManager;
 import thd.gameobjects.base.AutoMovable;
 import thd.gameobjects.base.CollidableGameObject;
+import thd.gameobjects.base.CollisionLayer;
 import thd.gameobjects.base.FlyingObject;
-import thd.gameobjects.base.Position;
+import thd.gameobjects.base.RenderLayer;
 import thd.gameview.GameView;
 
+import java.nio.ByteBuffer;
+
 /**
  * * Triangle is an enemy which has the goal to shoot the Rover.
  * It moves in the upper half of the screen.
@@ -23,15 +26,35 @@ public class Triangle extends FlyingObject implements AutoMovable {
      */
     public Triangle(GameView gameView, GamePlayManager gamePlayManager) {
         super(gameView, gamePlayManager);
+        renderLayer = RenderLayer.ENEMIES;
         speedInPixel = 3;
+        reset();
+    }
+
+    @Override
+    protected void reset() {
+        rotation = 0;
         generateRandomSpawnPosition();
         calculateRandomTargetPosition();
         isAtTargetPosition = false;
         counterForRotation = 0;
     }
 
+    @Override
+    public void writeState(ByteBuffer buffer) {
+        super.writeState(buffer);
+        buffer.putInt(counterForRotation);
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+        super.readState(buffer);
+        counterForRotation = buffer.getInt();
+    }
+
     @Override
     protected void initializeHitbox() {
+        collisionLayer = CollisionLayer.ENEMY;
         hitBoxWidth = 48;
         hitBoxHeight = 48;
         hitBoxOffsetX = 15;
@@ -84,10 +107,9 @@ public class Triangle extends FlyingObject implements AutoMovable {
 
     @Override
     protected void calculateRandomTargetPosition() {
-        targetPosition = new Position(random.nextInt(959), random.nextInt(50) + 100);
-        while (position.distance(targetPosition) < 200) {
-            targetPosition = new Position(random.nextInt(959), random.nextInt(50) + 100);
-        }
-        targetPosition = new Position(targetPosition.x, targetPosition.y);
+        do {
+            targetPosition.x = random.nextInt(959);
+            targetPosition.y = random.nextInt(50) + 100;
+        } while (position.distance(targetPosition) < 200);
     }
 }
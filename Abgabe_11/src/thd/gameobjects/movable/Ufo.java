@@ -3,10 +3,14 @@ package thd.gameobjects.movable;
 import thd.game.managers.GamePlayManager;
 import thd.gameobjects.base.AutoMovable;
 import thd.gameobjects.base.CollidableGameObject;
+import thd.gameobjects.base.CollisionLayer;
 import thd.gameobjects.base.FlyingObject;
-import thd.gameobjects.base.Position;
+import thd.gameobjects.base.GameObjectPool;
+import thd.gameobjects.base.RenderLayer;
 import thd.gameview.GameView;
 
+import java.nio.ByteBuffer;
+
 /**
  * * Ufo is an enemy which has the goal to shoot the Rover.
  * It moves in the upper half of the screen.
@@ -14,6 +18,8 @@ import thd.gameview.GameView;
 public class Ufo extends FlyingObject implements AutoMovable {
 
     private final double shotsPerSecondUp;
+    private final GameView.TimerHandle bulletDownTimer;
+    private final GameObjectPool<BulletDown> bulletDownPool;
     private int counterForCurve;
     private boolean goingLeftToRight;
 
@@ -22,27 +28,57 @@ public class Ufo extends FlyingObject implements AutoMovable {
      *
      * @param gameView        is the window in which it gets displayed
      * @param gamePlayManager is the manager, which makes sure that the objects are spawned and destroyed.
-     * @param position        is the position the Ufo should spawn
      */
-
-    public Ufo(GameView gameView, GamePlayManager gamePlayManager, Position position) {
+    public Ufo(GameView gameView, GamePlayManager gamePlayManager) {
         super(gameView, gamePlayManager);
-        this.position.x = position.x;
-        this.position.y = position.y;
-        calculateRandomTargetPosition();
+        renderLayer = RenderLayer.ENEMIES;
         speedInPixel = 2;
         size = 0.25;
         width = 80;
         height = 40; //change this
+        shotsPerSecondUp = 1;
+        bulletDownTimer = gameView.createTimer("bullet-down", this);
+        bulletDownPool = gamePlayManager.pool(BulletDown.class, () -> new BulletDown(gameView, gamePlayManager));
+        reset();
+    }
+
+    /**
+     * Places the Ufo at its spawn position and chooses the first target.
+     *
+     * @param x x-coordinate of the spawn position.
+     * @param y y-coordinate of the spawn position.
+     */
+    public void initialize(double x, double y) {
+        position.x = x;
+        position.y = y;
+        calculateRandomTargetPosition();
+    }
+
+    @Override
+    protected void reset() {
+        rotation = 0;
         isAtTargetPosition = false;
         goingLeftToRight = true;
         counterForCurve = 0;
+    }
 
-        shotsPerSecondUp = 1;
+    @Override
+    public void writeState(ByteBuffer buffer) {
+        super.writeState(buffer);
+        buffer.putInt(counterForCurve);
+        buffer.put((byte) (goingLeftToRight ? 1 : 0));
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+        super.readState(buffer);
+        counterForCurve = buffer.getInt();
+        goingLeftToRight = buffer.get() == 1;
     }
 
     @Override
     protected void initializeHitbox() {
+        collisionLayer = CollisionLayer.ENEMY;
         hitBoxWidth = 60;
         hitBoxHeight = 25;
         hitBoxOffsetX = 0;
@@ -77,9 +113,10 @@ public class Ufo extends FlyingObject implements AutoMovable {
      */
     @Override
     public void updatePosition() {
-        if (!gameView.timerIsActive("bullet-down", this)) {
-            gameView.activateTimer("bullet-down", this, (long) (1000 / shotsPerSecondUp));
-            BulletDown roverBulletDown = new BulletDown(gameView, gamePlayManager, new Position(position.x, position.y));
+        if (!gameView.timerIsActive(bulletDownTimer)) {
+            gameView.activateTimer(bulletDownTimer, (long) (1000 / shotsPerSecondUp));
+            BulletDown roverBulletDown = bulletDownPool.obtain();
+            roverBulletDown.initialize(position.x, position.y);
             gamePlayManager.spawn(roverBulletDown);
         }
         if (isAtTargetPosition) {
@@ -109,10 +146,9 @@ public class Ufo extends FlyingObject implements AutoMovable {
 
     @Override
     protected void calculateRandomTargetPosition() {
-        targetPosition = new Position(random.nextInt(700), random.nextInt(50) + 100);
-        while (position.distance(targetPosition) < 200) {
-            targetPosition = new Position(random.nextInt(700), random.nextInt(50) + 100);
-        }
-        targetPosition = new Position(targetPosition.x, targetPosition.y);
+        do {
+            targetPosition.x = random.nextInt(700);
+            targetPosition.y = random.nextInt(50) + 100;
+        } while (position.distance(targetPosition) < 200);
     }
 }
@@ -2,9 +2,11 @@ package thd.gameobjects.unmovable;
 
 import thd.game.managers.GamePlayManager;
 import thd.gameobjects.base.GameObject;
+import thd.gameobjects.base.RenderLayer;
 import thd.gameview.GameView;
 
 import java.awt.*;
+import java.nio.ByteBuffer;
 
 /**
  * Message in the middle of the Canvas.
@@ -13,6 +15,7 @@ import java.awt.*;
 public class Overlay extends GameObject {
 
     private String text;
+    private final GameView.TimerHandle messageTimer;
 
     /**
      * Constructor of the overlay.
@@ -21,6 +24,8 @@ public class Overlay extends GameObject {
      */
     public Overlay(GameView gameView, GamePlayManager gamePlayManager) {
         super(gameView, gamePlayManager);
+        renderLayer = RenderLayer.HUD;
+        messageTimer = gameView.createTimer("message", this);
     }
 
     /**
@@ -30,7 +35,19 @@ public class Overlay extends GameObject {
      */
     public void showMessage(String message, int secondsToShow) {
         text = message;
-        gameView.activateTimer(text, this, secondsToShow * 1000L);
+        gameView.activateTimer(messageTimer, secondsToShow * 1000L);
+    }
+
+    @Override
+    public void writeState(ByteBuffer buffer) {
+        super.writeState(buffer);
+        putString(buffer, text);
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+        super.readState(buffer);
+        text = getString(buffer);
     }
 
     @Override
@@ -40,7 +57,7 @@ public class Overlay extends GameObject {
 
     @Override
     public void addToCanvas() {
-        if (gameView.timerIsActive(text, this)) {
+        if (gameView.timerIsActive(messageTimer)) {
             final int size = 50;
             final double xCoordinate = GameView.WIDTH / 2.0 - size * 4;
             final double yCoordinate = GameView.HEIGHT / 2.0 - size / 2.0;
@@ -2,6 +2,7 @@ package thd.gameobjects.unmovable;
 
 import thd.game.managers.GamePlayManager;
 import thd.gameobjects.base.GameObject;
+import thd.gameobjects.base.RenderLayer;
 import thd.gameview.GameView;
 
 /**
@@ -16,6 +17,7 @@ public class Stars extends GameObject {
      */
     public Stars(GameView gameView, GamePlayManager gamePlayManager) {
         super(gameView, gamePlayManager);
+        renderLayer = RenderLayer.BACKGROUND;
         position.x = 0;
         position.y = 0;
     }
@@ -26,6 +28,6 @@ public class Stars extends GameObject {
 
     @Override
     public void addToCanvas() {
-         gameView.addImageToCanvas("background.png",0,0,1,0);
+        gameView.addImageToStaticLayer("background.png", 0, 0, 1);
     }
 }
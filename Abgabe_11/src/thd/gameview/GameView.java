@@ -8,11 +8,31 @@ import java.awt.*;
 import java.awt.event.*;
 import java.awt.font.TextAttribute;
 import java.awt.geom.AffineTransform;
+import java.awt.image.BufferStrategy;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
 
 /**
  * Ein Fenster, welches das einfache Gestalten von Spielen erlaubt. Es wird eine Leinwand mit einer Auflösung von
@@ -48,6 +68,10 @@ public class GameView {
     private final Keyboard keyboard;
     private final Sound sound;
     private final SwingAdapter swingAdapter;
+    private final Preloader preloader;
+    private final boolean headless;
+    private IntFunction<int[]> inputScript;
+    private int numberOfPrintedFrames;
 
     /**
      * Es wird eine Leinwand mit einer Auflösung von {@value WIDTH} * {@value HEIGHT} Pixeln erzeugt (Breite =
@@ -64,8 +88,26 @@ public class GameView {
      * <br>
      * </code>
      * </pre>
+     * Mit der System-Property <code>gameview.headless=true</code> wird die Leinwand ohne Fenster erzeugt, siehe
+     * {@link #GameView(boolean)}.
+     * <p>
+     * Mit der System-Property <code>gameview.accelerated=true</code> wird jedes Bild aktiv über eine
+     * {@link BufferStrategy} gezeichnet. Skalieren und Kopieren der Bilder übernimmt dann die Java2D-Pipeline, die dafür
+     * je nach System XRender, OpenGL oder Direct3D verwendet.
      */
     public GameView() {
+        this(Boolean.getBoolean("gameview.headless"));
+    }
+
+    /**
+     * Creates the canvas, either with a window or headless. A headless GameView needs no display: Everything added to
+     * the canvas is discarded by <code>printCanvas()</code>, which returns immediately, no sounds are played, the
+     * pressed keys are taken from the {@link #setInputScript(IntFunction) input script} and the game time only
+     * advances with {@link #advanceGameTime(double)}.
+     *
+     * @param headless <code>true</code> to run without window.
+     */
+    public GameView(boolean headless) {
         if (WIDTH * HEIGHT < 500000
             || WIDTH * HEIGHT > 540000
             || WIDTH < 700) {
@@ -76,12 +118,14 @@ public class GameView {
                     + "\nHEIGHT = " + HEIGHT
                     + "\nWIDTH * HEIGHT = " + WIDTH * HEIGHT);
         }
-        this.gameTime = new GameTime();
-        this.swingAdapter = new SwingAdapter();
-        this.window = new Window(swingAdapter);
+        this.headless = headless;
+        this.gameTime = new GameTime(headless);
+        this.preloader = new Preloader();
+        this.swingAdapter = new SwingAdapter(headless, preloader);
+        this.window = new Window(swingAdapter, headless);
         this.mouse = new Mouse(swingAdapter);
         this.keyboard = new Keyboard();
-        this.sound = new Sound();
+        this.sound = new Sound(headless, preloader);
         this.canvas = new Canvas();
 
         this.swingAdapter.registerListeners(mouse, keyboard, sound);
@@ -294,10 +338,37 @@ public class GameView {
      * @param rotation Die Rotation der Schrift in Grad um den Mittelpunkt.
      */
     public void addTextToCanvas(String text, double x, double y, double fontSize, Color color, double rotation) {
-        BufferedImage image = swingAdapter.createImageFromText(text, color, (int) Math.round(fontSize));
+        int fontSizeInt = (int) Math.round(fontSize);
+        // Nicht gedrehte Texte werden Zeichen für Zeichen aus einem Atlas kopiert, statt jedes Mal ein Bild zu erzeugen.
+        if (rotation == 0 && GlyphAtlas.containsAllCharacters(text)) {
+            int xInt = (int) Math.round(x);
+            int yInt = (int) Math.round(y);
+            int width = GlyphAtlas.numberOfColumns(text) * fontSizeInt;
+            int height = GlyphAtlas.numberOfLines(text) * fontSizeInt;
+            if (intersectsGameViewBounds(xInt, yInt, width, height, 0)) {
+                canvas.addTextToCanvas(text, xInt, yInt, width, height, swingAdapter.getGlyphAtlas(color, fontSizeInt));
+            }
+            return;
+        }
+        BufferedImage image = swingAdapter.createImageFromText(text, color, fontSizeInt);
         addImageToCanvasIfVisible(image, x, y, 1, rotation);
     }
 
+    /**
+     * Adds an image to the static layer, which is drawn beneath everything else on the canvas. As long as the static
+     * layer consists of the same images at the same positions as in the previous frame, it is not drawn again but
+     * copied from a stored image. This is meant for backgrounds that do not move, e.g. a starry sky.
+     *
+     * @param imageFile   The file of the image, see {@link #addImageToCanvas(String, double, double, double, double)}.
+     * @param x           x-coordinate of the image. 0 is left.
+     * @param y           y-coordinate of the image. 0 is top.
+     * @param scaleFactor Scale factor of the image.
+     */
+    public void addImageToStaticLayer(String imageFile, double x, double y, double scaleFactor) {
+        BufferedImage image = swingAdapter.createImageFromFile(imageFile);
+        canvas.addImageToStaticLayer(image, (int) Math.round(x), (int) Math.round(y), scaleFactor);
+    }
+
     /**
      * Erzeugt eine Grafik aus einer Datei. Die Datei muss im Verzeichnis "src/resources" liegen. Bitte den Namen des
      * Files ohne Verzeichnisnamen angeben, z.B.<code>"Raumschiff.png"</code>.
@@ -324,6 +395,14 @@ public class GameView {
         addImageToCanvasIfVisible(image, x, y, scaleFactor, rotation);
     }
 
+    private void addPreloadingProgressToCanvas() {
+        if (!preloader.isFinished()) {
+            final int fontSize = 12;
+            String text = String.format("Loading resources %3d%%", Math.round(preloader.getProgress() * 100));
+            addTextToCanvas(text, WIDTH - text.length() * fontSize - 5, 5, fontSize, Color.GRAY, 0);
+        }
+    }
+
     private void addImageToCanvasIfVisible(BufferedImage image, double x, double y, double scaleFactor,
                                            double rotation) {
         int xInt = (int) Math.round(x);
@@ -490,18 +569,191 @@ public class GameView {
 
     /**
      * Zeigt den aktuellen Inhalt der Leinwand (Canvas) im Fenster an. Nach der Ausgabe wird der Inhalt der Leinwand
-     * gelöscht. Zwischen zwei Aufrufen dieser Methode werden automatisch immer mindestens 8 Millisekunden eingefügt.
-     * Das führt zu einer Darstellung von höchstens 120 Bildern pro Sekunde.
+     * gelöscht. Die Methode wartet, bis das nächste Bild fällig ist, sodass höchstens so viele Bilder pro Sekunde
+     * dargestellt werden, wie mit {@link #setTargetFramesPerSecond(int)} eingestellt sind (voreingestellt 120, bei 0
+     * ohne Begrenzung).
      */
     public void printCanvas() {
-        window.printCanvas(canvas);
+        window.printCanvas(canvas, keyboard.getPressTimeOfSnapshot());
+        if (headless && inputScript != null) {
+            keyboard.setKeyCodesOfCurrentlyPressedKeys(inputScript.apply(numberOfPrintedFrames));
+        }
+        keyboard.takeSnapshot();
+        numberOfPrintedFrames++;
+        gameTime.advance();
+    }
+
+    /**
+     * Time that was needed to draw the last frame into an image. The frames are drawn by a separate thread, so this
+     * time is not part of <code>printCanvas()</code>.
+     *
+     * @return The time in nanoseconds, 0 if no frame was drawn yet.
+     */
+    public long getRasterizationTimeInNanoseconds() {
+        return swingAdapter.rasterizationTimeInNanoseconds;
+    }
+
+    /**
+     * Memory used by the sprite cache. Images that are drawn scaled or rotated are stored in the size and rotation in
+     * which they are drawn, the cache evicts the least recently used ones when it is full.
+     *
+     * @return The size of the cached images in bytes.
+     */
+    public long getSpriteCacheSizeInBytes() {
+        return swingAdapter.spriteCache.getSizeInBytes();
+    }
+
+    /**
+     * Describes the caches of images from files, block images and text images, one line each: number of images,
+     * memory used and limit, hits, misses and evictions. The last lines are the memory used by the sprite cache and
+     * the number of glyph atlases for text.
+     *
+     * @return The statistics as text.
+     */
+    public String getImageCacheStatistics() {
+        return swingAdapter.getImageCacheStatistics();
+    }
+
+    /**
+     * Sets how many frames per second <code>printCanvas()</code> shows at most. The default is 120. Until the next
+     * frame is due, <code>printCanvas()</code> waits by parking the thread and spins for the last few microseconds, so
+     * the frames follow each other at precise intervals.
+     *
+     * @param framesPerSecond The frames per second, 0 or less for no limit.
+     */
+    public void setTargetFramesPerSecond(int framesPerSecond) {
+        window.getFramePacer().setFramesPerSecond(framesPerSecond);
+    }
+
+    /**
+     * Counts how long the intervals between the frames shown by <code>printCanvas()</code> were. Entry i counts the
+     * intervals between i * 0.1 and (i + 1) * 0.1 milliseconds, the last entry also counts all longer intervals.
+     * Headless GameViews do not wait for frames and count nothing.
+     *
+     * @return A copy of the histogram.
+     */
+    public long[] getFrameIntervalHistogram() {
+        return window.getFramePacer().getHistogram();
+    }
+
+    /**
+     * Describes the intervals between the frames: target, mean, jitter as standard deviation and some percentiles.
+     *
+     * @return The statistics as text.
+     */
+    public String getFramePacingStatistics() {
+        return window.getFramePacer().getStatistics();
+    }
+
+    /**
+     * Starts to load all images and sounds listed in the resource manifest <code>src/thd/resources/manifest.txt</code>
+     * in the background. The files are decoded in parallel on a thread pool. Once a file is loaded, using it needs no
+     * more access to the disk. The start screens show the progress until everything is loaded.
+     * <p>
+     * After the manifest was loaded, a warning is printed for every image or sound that is not in the manifest and
+     * has to be loaded while the game is running.
+     *
+     * @see #awaitPreloading()
+     */
+    public void preloadResources() {
+        preloader.preloadManifest();
+    }
+
+    /**
+     * Starts to load the given images and sounds in the background, e.g. the resources of the next level.
+     *
+     * @param resourceFiles The files in the directory "src/thd/resources", e.g. <code>"Raumschiff.png"</code>.
+     * @see #preloadResources()
+     */
+    public void preloadResources(String... resourceFiles) {
+        preloader.preload(Arrays.asList(resourceFiles));
+    }
+
+    /**
+     * Share of the requested resources that are already loaded.
+     *
+     * @return A value between 0 and 1, 1 if nothing is being loaded.
+     */
+    public double getPreloadingProgress() {
+        return preloader.getProgress();
+    }
+
+    /**
+     * Waits until all requested resources are loaded.
+     */
+    public void awaitPreloading() {
+        preloader.await();
+    }
+
+    /**
+     * Checks if this GameView runs without window.
+     *
+     * @return <code>true</code> if the GameView is headless.
+     * @see #GameView(boolean)
+     */
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Sets the source of the pressed keys of a headless GameView. Every call of <code>printCanvas()</code> asks the
+     * script for the key codes that are pressed until the next call. The number of frames printed before is passed to
+     * the script.
+     *
+     * @param inputScript Returns the key codes that are pressed in the given frame.
+     * @throws IllegalStateException if the GameView is not headless.
+     */
+    public void setInputScript(IntFunction<int[]> inputScript) {
+        if (!headless) {
+            throw new IllegalStateException("Only a headless GameView uses an input script.");
+        }
+        this.inputScript = inputScript;
+    }
+
+    /**
+     * Lets a headless GameView draw every frame into an image that is never shown, e.g. to measure the drawing time.
+     * Without offscreen rendering, a headless GameView discards the frames.
+     *
+     * @param offscreenRendering <code>true</code> to draw the frames.
+     * @throws IllegalStateException if the GameView is not headless.
+     */
+    public void setOffscreenRendering(boolean offscreenRendering) {
+        if (!headless) {
+            throw new IllegalStateException("Only a headless GameView renders offscreen.");
+        }
+        window.offscreenRendering = offscreenRendering;
+    }
+
+    /**
+     * Stops the game time from following the real time. From now on it only advances with
+     * {@link #advanceGameTime(double)}, e.g. by one tick of a fixed step game loop, so timers and alarms expire after the
+     * same number of ticks in every run. A headless GameView always uses the simulated game time.
+     */
+    public void useSimulatedGameTime() {
+        gameTime.useSimulatedTime();
+    }
+
+    /**
+     * Advances the simulated game time. Timers and alarms that expire within this time are processed right away, so
+     * callbacks run in the tick in which they are due, even if no frame is printed, e.g. while ticks are simulated
+     * again after a rewind.
+     *
+     * @param milliseconds The time that has passed.
+     * @throws IllegalStateException if the game time is not simulated, see {@link #useSimulatedGameTime()}.
+     */
+    public void advanceGameTime(double milliseconds) {
+        if (!gameTime.simulated) {
+            throw new IllegalStateException("Only the simulated game time can be advanced.");
+        }
+        gameTime.advanceSimulatedTime(milliseconds);
+        gameTime.advance();
     }
 
     /**
      * Gibt den übergebenen Text direkt im Fenster aus. Es muss die Schriftgröße gewählt werden.
      * <p>
-     * Zwischen zwei Aufrufen dieser Methode werden automatisch immer mindestens 8 Millisekunden eingefügt. Das führt zu
-     * einer Darstellung von höchstens 120 Bildern pro Sekunde.
+     * Die Methode wartet wie {@link #printCanvas()}, bis das nächste Bild fällig ist, sodass höchstens so viele Bilder
+     * pro Sekunde dargestellt werden, wie mit {@link #setTargetFramesPerSecond(int)} eingestellt sind.
      *
      * @param string   Der anzuzeigende String.
      * @param fontSize Die Schriftgröße.
@@ -521,6 +773,181 @@ public class GameView {
         return gameTime.getTimeInMilliseconds();
     }
 
+    /**
+     * Creates a handle for the timer and the alarm that belong to the given identifier. The handle can be used instead of
+     * the name and the object, e.g. <code>timerIsActive(handle)</code> instead of
+     * <code>timerIsActive(name, id)</code>. The handle should be created once, e.g. in the constructor, and stored.
+     * Calling this method again with the same identifier returns the same handle.
+     *
+     * @param name The identifier of the timer.
+     * @param id   The object that the timer belongs to.
+     * @return The handle of the timer.
+     */
+    public TimerHandle createTimer(String name, Object id) {
+        return gameTime.createTimer(name, id);
+    }
+
+    /**
+     * Sets a new timer with the given duration. After the duration, the timer will expire. The timer starts
+     * immediately.
+     *
+     * @param timer    The handle of the timer.
+     * @param duration The duration of the timer. After this duration the timer will expire.
+     * @see #activateTimer(String, Object, long)
+     */
+    public void activateTimer(TimerHandle timer, long duration) {
+        gameTime.activateTimer(timer, duration, null);
+    }
+
+    /**
+     * Sets a new timer with the given duration and runs the callback when the timer expires. Expired timers are
+     * detected when the canvas is printed, so the callback runs on the game loop thread.
+     *
+     * @param timer    The handle of the timer.
+     * @param duration The duration of the timer. After this duration the timer will expire.
+     * @param callback The callback that is run when the timer expires.
+     */
+    public void activateTimer(TimerHandle timer, long duration, Runnable callback) {
+        gameTime.activateTimer(timer, duration, callback);
+    }
+
+    /**
+     * Checks if the timer already has expired. This method returns <code>false</code>, as long as the timer is
+     * currently not running, even if it has never been started. It returns <code>true</code>, as long the timer is
+     * running.
+     *
+     * @param timer The handle of the timer.
+     * @return <code>true</code>, as long the timer is running.
+     * @see #timerIsActive(String, Object)
+     */
+    public boolean timerIsActive(TimerHandle timer) {
+        return gameTime.timerIsActive(timer);
+    }
+
+    /**
+     * Starts a timer with the given duration and delivers an alarm after the given time.
+     *
+     * @param timer    The handle of the alarm.
+     * @param duration The duration of the timer. After this duration, the method <code>alarm()</code> will become <code>true</code>.
+     * @see #setAlarm(String, Object, long)
+     */
+    public void setAlarm(TimerHandle timer, long duration) {
+        gameTime.setAlarm(timer, duration, null);
+    }
+
+    /**
+     * Starts a timer with the given duration and runs the callback when the alarm is due. An alarm with a callback is
+     * delivered by the callback and deleted afterwards, so <code>alarm()</code> will not become <code>true</code>.
+     *
+     * @param timer    The handle of the alarm.
+     * @param duration The duration of the timer.
+     * @param callback The callback that is run when the alarm is due.
+     */
+    public void setAlarm(TimerHandle timer, long duration, Runnable callback) {
+        gameTime.setAlarm(timer, duration, callback);
+    }
+
+    /**
+     * Checks if the alarm already has been set.
+     *
+     * @param timer The handle of the alarm.
+     * @return returns <code>true</code> if the timer is currently set and waiting for the delivery of an alarm.
+     * @see #alarmIsSet(String, Object)
+     */
+    public boolean alarmIsSet(TimerHandle timer) {
+        return gameTime.alarmIsSet(timer);
+    }
+
+    /**
+     * Checks if the alarm is due. After the timer was due and <code>alarm()</code> was called, the timer will be
+     * deleted.
+     *
+     * @param timer The handle of the alarm.
+     * @return <code>true</code> if the alarm is due.
+     * @see #alarm(String, Object)
+     */
+    public boolean alarm(TimerHandle timer) {
+        return gameTime.alarm(timer);
+    }
+
+    /**
+     * Cancels the alarm, the timer will be deleted.
+     *
+     * @param timer The handle of the alarm.
+     * @see #cancelAlarm(String, Object)
+     */
+    public void cancelAlarm(TimerHandle timer) {
+        gameTime.cancelAlarm(timer);
+    }
+
+    /**
+     * Deletes all timers and alarms that belong to the given object, e.g. when the object is removed from the game.
+     * Handles of these timers stay valid and behave like new timers.
+     *
+     * @param id The object that the timers belong to.
+     */
+    public void releaseTimers(Object id) {
+        gameTime.releaseTimers(id);
+    }
+
+    /**
+     * Deletes all timers and alarms that belong to one of the given objects. This is faster than calling
+     * {@link #releaseTimers(Object)} for each of many objects.
+     *
+     * @param ids The objects that the timers belong to, e.g. a set that compares the objects by identity.
+     */
+    public void releaseTimersOfAll(Set<Object> ids) {
+        gameTime.releaseTimersOfAll(ids);
+    }
+
+    /**
+     * Number of timers and alarms that are currently running or waiting to be delivered.
+     *
+     * @return The number of live timers.
+     */
+    public int getNumberOfLiveTimers() {
+        return gameTime.getNumberOfLiveTimers();
+    }
+
+    /**
+     * Writes all running timers and waiting alarms into the buffer, e.g. to save the game. Each timer is stored with the
+     * number of its object, its name, its kind and the remaining time. Callbacks are not stored.
+     *
+     * @param buffer    The buffer to write to.
+     * @param indexOfId Gives the number of the object that a timer belongs to, a negative number to skip its timers.
+     * @see #readTimers(ByteBuffer, int)
+     */
+    public void writeTimers(ByteBuffer buffer, ToIntFunction<Object> indexOfId) {
+        gameTime.writeTimers(buffer, indexOfId);
+    }
+
+    /**
+     * Reads the timers and alarms written by {@link #writeTimers(ByteBuffer, ToIntFunction)}. The current timers are
+     * not changed yet, so a saved game can be checked completely before it replaces the current one.
+     *
+     * @param buffer      The buffer to read from.
+     * @param numberOfIds The number of objects, all written numbers must be smaller.
+     * @return The timers, to be restored by {@link #restoreTimers(SavedTimers, IntFunction)}.
+     * @throws java.nio.BufferUnderflowException if the buffer ends before the timers.
+     * @throws IllegalArgumentException          if the buffer contains no valid timers.
+     */
+    public SavedTimers readTimers(ByteBuffer buffer, int numberOfIds) {
+        return gameTime.readTimers(buffer, numberOfIds);
+    }
+
+    /**
+     * Restores timers and alarms read by {@link #readTimers(ByteBuffer, int)}. The remaining times start at the current
+     * game time. A simulated game time is advanced by less than a millisecond before, so the timers expire after the
+     * same number of ticks as they would have before. Existing timers with the same name and object are replaced, other
+     * timers are kept.
+     *
+     * @param timers    The timers.
+     * @param idOfIndex Gives the object for the number that was written.
+     */
+    public void restoreTimers(SavedTimers timers, IntFunction<Object> idOfIndex) {
+        gameTime.restoreTimers(timers, idOfIndex);
+    }
+
     /**
      * Sets a new timer with the given duration. After the duration, the timer will expire. The timer starts
      * immediately.
@@ -741,6 +1168,62 @@ public class GameView {
         return keyboard.getKeyCodesOfCurrentlyPressedKeys();
     }
 
+    /**
+     * Checks whether a key is held down. The state of all keys is taken once per frame by <code>printCanvas()</code>,
+     * so all queries between two frames see the same state. A key that was pressed and released within one frame
+     * counts as held down for that frame. Unlike {@link #getKeyCodesOfCurrentlyPressedKeys()}, the queries allocate
+     * nothing.
+     *
+     * @param keyCode The key code, e.g. <code>KeyEvent.VK_UP</code>.
+     * @return <code>true</code> if the key is held down.
+     */
+    public boolean isKeyDown(int keyCode) {
+        return keyboard.isDown(keyCode);
+    }
+
+    /**
+     * Checks whether a key was pressed since the previous frame.
+     *
+     * @param keyCode The key code, e.g. <code>KeyEvent.VK_UP</code>.
+     * @return <code>true</code> if the key is down now, but was not down in the previous frame.
+     * @see #isKeyDown(int)
+     */
+    public boolean keyWentDown(int keyCode) {
+        return keyboard.wentDown(keyCode);
+    }
+
+    /**
+     * Checks whether a key was released since the previous frame.
+     *
+     * @param keyCode The key code, e.g. <code>KeyEvent.VK_UP</code>.
+     * @return <code>true</code> if the key was down in the previous frame, but is not down now.
+     * @see #isKeyDown(int)
+     */
+    public boolean keyWentUp(int keyCode) {
+        return keyboard.wentUp(keyCode);
+    }
+
+    /**
+     * Time of the last event of a key, when it was pressed or released. Repeated presses while the key is held down
+     * are not counted. The time can be compared with {@link System#nanoTime()}.
+     *
+     * @param keyCode The key code, e.g. <code>KeyEvent.VK_UP</code>.
+     * @return The time in nanoseconds, 0 if the key was never pressed.
+     */
+    public long getKeyEventTimeInNanoseconds(int keyCode) {
+        return keyboard.getEventTime(keyCode);
+    }
+
+    /**
+     * Latency from input to display: Time from a key press until the frame that was computed after the key press has
+     * been handed to the display.
+     *
+     * @return The time in nanoseconds of the last key press, 0 if there was none yet.
+     */
+    public long getInputLatencyInNanoseconds() {
+        return window.getInputLatencyInNanoseconds();
+    }
+
     /**
      * Falls die Maus mit {@link #useMouse(boolean)} aktiviert wurde, liefert diese Methode alle Mausereignisse die seit
      * dem letzten Aufruf dieser Methode aufgelaufen sind als Array zurück. Es werden maximal die neuesten 25 Ereignisse
@@ -850,91 +1333,586 @@ public class GameView {
         window.closeWindow(terminateEverything);
     }
 
+    /**
+     * Verwaltet Timer und Alarme. Jeder Bezeichner (Name und Objekt) belegt einen Index, unter dem ein Timer und ein
+     * Alarm gespeichert werden. Laufende Timer und Alarme hängen zusätzlich in einem hierarchischen Timing Wheel
+     * (3 Ebenen mit je 256 Fächern, Auflösung 1 ms), damit abgelaufene Einträge ohne Abfrage gelöscht werden und
+     * Callbacks ausgelöst werden können.
+     */
     private static class GameTime {
+        private static final long NOT_SET = Long.MIN_VALUE;
+        private static final int NONE = -1;
+        private static final int INITIAL_CAPACITY = 256;
+        private static final int MINIMUM_SIZE_OF_SAVED_TIMER = Integer.BYTES + Short.BYTES + Byte.BYTES + Long.BYTES;
+        private static final int WHEEL_BITS = 8;
+        private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+        private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+        private static final int WHEEL_LEVELS = 3;
 
         private final long startTimeInMilliseconds;
-        private final HashMap<Long, Long> timers;
-        private final HashMap<Long, Long> alarms;
-
-        private GameTime() {
+        private boolean simulated;
+        private long simulatedTimeInNanoseconds;
+
+        // Bezeichner, je Index
+        private String[] names;
+        private Object[] owners;
+        private int[] hashes;
+        private TimerHandle[] handles;
+        private int numberOfIndices;
+        private int[] unusedIndices;
+        private int numberOfUnusedIndices;
+        private int[] table;
+
+        // Einträge, je Index ein Timer (2 * index) und ein Alarm (2 * index + 1)
+        private long[] deadlines;
+        private Runnable[] callbacks;
+        private int[] next;
+        private int[] previous;
+        private int[] buckets;
+        private int numberOfLiveTimers;
+
+        // Timing Wheel
+        private final int[] bucketHeads;
+        private long currentTick;
+        private int numberOfScheduledEntries;
+
+        // Speichern: jeder Name wird nur einmal kodiert, damit das Schreiben der Timer nichts anlegt.
+        private final HashMap<String, byte[]> encodedNames;
+
+        private GameTime(boolean simulated) {
             this.startTimeInMilliseconds = System.currentTimeMillis();
-            this.timers = new HashMap<>(200);
-            this.alarms = new HashMap<>(200);
+            this.simulated = simulated;
+            this.names = new String[INITIAL_CAPACITY];
+            this.owners = new Object[INITIAL_CAPACITY];
+            this.hashes = new int[INITIAL_CAPACITY];
+            this.handles = new TimerHandle[INITIAL_CAPACITY];
+            this.unusedIndices = new int[INITIAL_CAPACITY];
+            this.table = new int[2 * INITIAL_CAPACITY];
+            this.deadlines = new long[2 * INITIAL_CAPACITY];
+            this.callbacks = new Runnable[2 * INITIAL_CAPACITY];
+            this.next = new int[2 * INITIAL_CAPACITY];
+            this.previous = new int[2 * INITIAL_CAPACITY];
+            this.buckets = new int[2 * INITIAL_CAPACITY];
+            this.bucketHeads = new int[WHEEL_LEVELS * WHEEL_SIZE];
+            Arrays.fill(bucketHeads, NONE);
+            this.currentTick = getCurrentTime();
+            this.encodedNames = new HashMap<>();
         }
 
         private int getCurrentTime() {
+            if (simulated) {
+                return (int) (simulatedTimeInNanoseconds / 1_000_000);
+            }
             return (int) (System.currentTimeMillis() - startTimeInMilliseconds);
         }
 
+        private void useSimulatedTime() {
+            if (!simulated) {
+                simulatedTimeInNanoseconds = getCurrentTime() * 1_000_000L;
+                simulated = true;
+            }
+        }
+
+        private void advanceSimulatedTime(double milliseconds) {
+            // Ganze Nanosekunden, damit sich bei vielen Ticks keine Rundungsfehler aufsummieren.
+            simulatedTimeInNanoseconds += Math.round(milliseconds * 1_000_000);
+        }
+
         private int getTimeInMilliseconds() {
             return getCurrentTime();
         }
 
-        private void activateTimer(String name, Object id, long duration) {
-            timers.put((long) name.hashCode() + System.identityHashCode(id), getCurrentTime() + duration);
+        private int getNumberOfLiveTimers() {
+            return numberOfLiveTimers;
         }
 
-        private boolean timerIsActive(String name, Object id) {
-            Long timerId = (long) name.hashCode() + System.identityHashCode(id);
-            Long startTime = timers.get(timerId);
-            if (startTime == null) {
-                return false;
-            }
-            boolean expired = startTime - getCurrentTime() <= 0;
-            if (expired) {
-                timers.remove(timerId);
+        // Bezeichner
+
+        private TimerHandle createTimer(String name, Object id) {
+            int index = findOrCreate(name, id);
+            if (handles[index] == null) {
+                handles[index] = new TimerHandle(name, id, index);
             }
-            return !expired;
+            return handles[index];
         }
 
-        private void setAlarm(String name, Object id, long duration) {
-            alarms.put((long) name.hashCode() + System.identityHashCode(id), getCurrentTime() + duration);
+        private int resolve(TimerHandle timer) {
+            if (timer.index < numberOfIndices && handles[timer.index] == timer) {
+                return timer.index;
+            }
+            // Die Timer des Objekts wurden freigegeben, der Handle wird neu eingetragen.
+            int index = findOrCreate(timer.name, timer.owner);
+            handles[index] = timer;
+            timer.index = index;
+            return index;
         }
 
-        private boolean alarmIsSet(String name, Object id) {
-            Long alarmId = (long) name.hashCode() + System.identityHashCode(id);
-            return alarms.containsKey(alarmId);
+        private int find(String name, Object id) {
+            int mask = table.length - 1;
+            for (int i = hash(name, id) & mask; table[i] != 0; i = (i + 1) & mask) {
+                int index = table[i] - 1;
+                if (owners[index] == id && names[index].equals(name)) {
+                    return index;
+                }
+            }
+            return NONE;
         }
 
-        private boolean alarm(String name, Object id) {
-            Long alarmId = (long) name.hashCode() + System.identityHashCode(id);
-            Long startTime = alarms.get(alarmId);
-            if (startTime == null) {
-                return false;
+        private int findOrCreate(String name, Object id) {
+            int index = find(name, id);
+            if (index != NONE) {
+                return index;
             }
-            boolean expired = startTime - getCurrentTime() <= 0;
-            if (expired) {
-                alarms.remove(alarmId);
+            if (numberOfUnusedIndices > 0) {
+                index = unusedIndices[--numberOfUnusedIndices];
+            } else {
+                if (numberOfIndices == names.length) {
+                    grow();
+                }
+                index = numberOfIndices++;
             }
-            return expired;
+            names[index] = name;
+            owners[index] = id;
+            hashes[index] = hash(name, id);
+            deadlines[2 * index] = NOT_SET;
+            deadlines[2 * index + 1] = NOT_SET;
+            buckets[2 * index] = NONE;
+            buckets[2 * index + 1] = NONE;
+            insertIntoTable(index);
+            return index;
         }
 
-        public void cancelAlarm(String name, Object id) {
-            Long alarmId = (long) name.hashCode() + System.identityHashCode(id);
-            alarms.remove(alarmId);
+        private void grow() {
+            int capacity = 2 * names.length;
+            names = Arrays.copyOf(names, capacity);
+            owners = Arrays.copyOf(owners, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            handles = Arrays.copyOf(handles, capacity);
+            unusedIndices = Arrays.copyOf(unusedIndices, capacity);
+            deadlines = Arrays.copyOf(deadlines, 2 * capacity);
+            callbacks = Arrays.copyOf(callbacks, 2 * capacity);
+            next = Arrays.copyOf(next, 2 * capacity);
+            previous = Arrays.copyOf(previous, 2 * capacity);
+            buckets = Arrays.copyOf(buckets, 2 * capacity);
+            table = new int[2 * capacity];
+            for (int index = 0; index < numberOfIndices; index++) {
+                if (names[index] != null) {
+                    insertIntoTable(index);
+                }
+            }
         }
-    }
 
-    private static class PrintObject {
-        int x;
-        int y;
-        Color color;
+        private void insertIntoTable(int index) {
+            int mask = table.length - 1;
+            int i = hashes[index] & mask;
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = index + 1;
+        }
 
-        public PrintObject(int x, int y, Color color) {
-            this.x = x;
-            this.y = y;
-            this.color = color;
+        private void removeFromTable(int index) {
+            int mask = table.length - 1;
+            int i = hashes[index] & mask;
+            while (table[i] != index + 1) {
+                i = (i + 1) & mask;
+            }
+            // Nachfolgende Einträge rücken auf, damit keine Lücke in der Sondierungskette entsteht.
+            for (int j = (i + 1) & mask; table[j] != 0; j = (j + 1) & mask) {
+                int home = hashes[table[j] - 1] & mask;
+                boolean reachable = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+                if (!reachable) {
+                    table[i] = table[j];
+                    i = j;
+                }
+            }
+            table[i] = 0;
         }
-    }
 
-    private static class Oval extends PrintObject {
-        int width;
-        int height;
-        int lineWeight;
-        boolean filled;
+        private static int hash(String name, Object id) {
+            int hash = 31 * name.hashCode() + System.identityHashCode(id);
+            return hash ^ (hash >>> 16);
+        }
 
-        public Oval(int xCenter, int yCenter, int width, int height, int lineWeight, boolean filled, Color color) {
-            super(xCenter, yCenter, color);
+        private void releaseIndex(int index) {
+            for (int entry = 2 * index; entry <= 2 * index + 1; entry++) {
+                unschedule(entry);
+                setDeadline(entry, NOT_SET);
+                callbacks[entry] = null;
+            }
+            removeFromTable(index);
+            names[index] = null;
+            owners[index] = null;
+            handles[index] = null;
+            unusedIndices[numberOfUnusedIndices++] = index;
+        }
+
+        private void releaseIfUnused(int index) {
+            // Bezeichner ohne Handle werden nur über die Namen verwendet und können jederzeit neu angelegt werden.
+            if (handles[index] == null && deadlines[2 * index] == NOT_SET && deadlines[2 * index + 1] == NOT_SET) {
+                releaseIndex(index);
+            }
+        }
+
+        private void releaseTimers(Object id) {
+            for (int index = 0; index < numberOfIndices; index++) {
+                if (owners[index] == id && names[index] != null) {
+                    releaseIndex(index);
+                }
+            }
+        }
+
+        private void releaseTimersOfAll(Set<Object> ids) {
+            for (int index = 0; index < numberOfIndices; index++) {
+                if (names[index] != null && ids.contains(owners[index])) {
+                    releaseIndex(index);
+                }
+            }
+        }
+
+        // Timer und Alarme
+
+        private void activateTimer(String name, Object id, long duration) {
+            activate(2 * findOrCreate(name, id), duration, null);
+        }
+
+        private void activateTimer(TimerHandle timer, long duration, Runnable callback) {
+            activate(2 * resolve(timer), duration, callback);
+        }
+
+        private boolean timerIsActive(String name, Object id) {
+            int index = find(name, id);
+            return index != NONE && timerIsActive(index);
+        }
+
+        private boolean timerIsActive(TimerHandle timer) {
+            return timerIsActive(resolve(timer));
+        }
+
+        private boolean timerIsActive(int index) {
+            int entry = 2 * index;
+            if (deadlines[entry] == NOT_SET) {
+                return false;
+            }
+            boolean expired = deadlines[entry] - getCurrentTime() <= 0;
+            if (expired) {
+                unschedule(entry);
+                setDeadline(entry, NOT_SET);
+                callbacks[entry] = null;
+                releaseIfUnused(index);
+            }
+            return !expired;
+        }
+
+        private void setAlarm(String name, Object id, long duration) {
+            activate(2 * findOrCreate(name, id) + 1, duration, null);
+        }
+
+        private void setAlarm(TimerHandle timer, long duration, Runnable callback) {
+            activate(2 * resolve(timer) + 1, duration, callback);
+        }
+
+        private boolean alarmIsSet(String name, Object id) {
+            int index = find(name, id);
+            return index != NONE && deadlines[2 * index + 1] != NOT_SET;
+        }
+
+        private boolean alarmIsSet(TimerHandle timer) {
+            return deadlines[2 * resolve(timer) + 1] != NOT_SET;
+        }
+
+        private boolean alarm(String name, Object id) {
+            int index = find(name, id);
+            return index != NONE && alarm(index);
+        }
+
+        private boolean alarm(TimerHandle timer) {
+            return alarm(resolve(timer));
+        }
+
+        private boolean alarm(int index) {
+            int entry = 2 * index + 1;
+            if (deadlines[entry] == NOT_SET) {
+                return false;
+            }
+            boolean expired = deadlines[entry] - getCurrentTime() <= 0;
+            if (expired) {
+                cancel(index);
+            }
+            return expired;
+        }
+
+        public void cancelAlarm(String name, Object id) {
+            int index = find(name, id);
+            if (index != NONE) {
+                cancel(index);
+            }
+        }
+
+        private void cancelAlarm(TimerHandle timer) {
+            cancel(resolve(timer));
+        }
+
+        private void cancel(int index) {
+            int entry = 2 * index + 1;
+            unschedule(entry);
+            setDeadline(entry, NOT_SET);
+            callbacks[entry] = null;
+            releaseIfUnused(index);
+        }
+
+        // Speichern und Laden
+
+        private void writeTimers(ByteBuffer buffer, ToIntFunction<Object> indexOfId) {
+            buffer.putInt(simulated ? (int) (simulatedTimeInNanoseconds % 1_000_000) : 0);
+            int countPosition = buffer.position();
+            buffer.putInt(0);
+            int count = 0;
+            long currentTime = getCurrentTime();
+            for (int index = 0; index < numberOfIndices; index++) {
+                if (names[index] == null
+                    || deadlines[2 * index] == NOT_SET && deadlines[2 * index + 1] == NOT_SET) {
+                    continue;
+                }
+                int idIndex = indexOfId.applyAsInt(owners[index]);
+                if (idIndex < 0) {
+                    continue;
+                }
+                byte[] name = encodedNames.computeIfAbsent(names[index], key -> key.getBytes(StandardCharsets.UTF_8));
+                for (int entry = 2 * index; entry <= 2 * index + 1; entry++) {
+                    if (deadlines[entry] != NOT_SET) {
+                        buffer.putInt(idIndex);
+                        buffer.putShort((short) name.length);
+                        buffer.put(name);
+                        buffer.put((byte) (entry - 2 * index));
+                        buffer.putLong(deadlines[entry] - currentTime);
+                        count++;
+                    }
+                }
+            }
+            buffer.putInt(countPosition, count);
+        }
+
+        private SavedTimers readTimers(ByteBuffer buffer, int numberOfIds) {
+            int fraction = buffer.getInt();
+            int count = buffer.getInt();
+            if (fraction < 0 || fraction >= 1_000_000 || count < 0
+                || count > buffer.remaining() / MINIMUM_SIZE_OF_SAVED_TIMER) {
+                throw new IllegalArgumentException("The timers are not valid.");
+            }
+            SavedTimers timers = new SavedTimers(fraction, count);
+            for (int timer = 0; timer < count; timer++) {
+                timers.idIndices[timer] = buffer.getInt();
+                short length = buffer.getShort();
+                if (timers.idIndices[timer] < 0 || timers.idIndices[timer] >= numberOfIds || length < 0) {
+                    throw new IllegalArgumentException("The timers are not valid.");
+                }
+                byte[] name = new byte[length];
+                buffer.get(name);
+                timers.names[timer] = new String(name, StandardCharsets.UTF_8);
+                timers.kinds[timer] = buffer.get();
+                if (timers.kinds[timer] != 0 && timers.kinds[timer] != 1) {
+                    throw new IllegalArgumentException("The timers are not valid.");
+                }
+                timers.remainingTimes[timer] = buffer.getLong();
+            }
+            return timers;
+        }
+
+        private void restoreTimers(SavedTimers timers, IntFunction<Object> idOfIndex) {
+            // Die simulierte Zeit wird auf denselben Bruchteil einer Millisekunde vorgestellt wie beim Schreiben, sonst
+            // könnten die Timer einen Tick früher oder später ablaufen.
+            if (simulated) {
+                simulatedTimeInNanoseconds += Math.floorMod(timers.fraction - simulatedTimeInNanoseconds, 1_000_000L);
+            }
+            for (int timer = 0; timer < timers.idIndices.length; timer++) {
+                Object id = idOfIndex.apply(timers.idIndices[timer]);
+                activate(2 * findOrCreate(timers.names[timer], id) + timers.kinds[timer], timers.remainingTimes[timer],
+                        null);
+            }
+        }
+
+        private void activate(int entry, long duration, Runnable callback) {
+            unschedule(entry);
+            setDeadline(entry, getCurrentTime() + duration);
+            callbacks[entry] = callback;
+            schedule(entry);
+        }
+
+        private void setDeadline(int entry, long deadline) {
+            if (deadlines[entry] == NOT_SET && deadline != NOT_SET) {
+                numberOfLiveTimers++;
+            } else if (deadlines[entry] != NOT_SET && deadline == NOT_SET) {
+                numberOfLiveTimers--;
+            }
+            deadlines[entry] = deadline;
+        }
+
+        // Timing Wheel
+
+        /**
+         * Arbeitet alle Millisekunden bis zur aktuellen Zeit ab. Jeder Schritt kostet konstante Zeit plus die Zeit für
+         * die Einträge, die in diesem Schritt ablaufen.
+         */
+        private void advance() {
+            long now = getCurrentTime();
+            if (numberOfScheduledEntries == 0) {
+                currentTick = Math.max(currentTick, now);
+                return;
+            }
+            while (currentTick < now) {
+                currentTick++;
+                int index = (int) (currentTick & WHEEL_MASK);
+                if (index == 0) {
+                    int index1 = (int) ((currentTick >>> WHEEL_BITS) & WHEEL_MASK);
+                    if (index1 == 0) {
+                        cascade(2 * WHEEL_SIZE + (int) ((currentTick >>> 2 * WHEEL_BITS) & WHEEL_MASK));
+                    }
+                    cascade(WHEEL_SIZE + index1);
+                }
+                expire(index);
+            }
+        }
+
+        private void schedule(int entry) {
+            long deadline = deadlines[entry];
+            long delta = deadline - currentTick;
+            int bucket;
+            if (delta <= 0) {
+                bucket = (int) ((currentTick + 1) & WHEEL_MASK);
+            } else if (delta < WHEEL_SIZE) {
+                bucket = (int) (deadline & WHEEL_MASK);
+            } else if (delta < 1L << 2 * WHEEL_BITS) {
+                bucket = WHEEL_SIZE + (int) ((deadline >>> WHEEL_BITS) & WHEEL_MASK);
+            } else if (delta < 1L << 3 * WHEEL_BITS) {
+                bucket = 2 * WHEEL_SIZE + (int) ((deadline >>> 2 * WHEEL_BITS) & WHEEL_MASK);
+            } else {
+                // Zu weit in der Zukunft: Der Eintrag wird in das zuletzt abgearbeitete Fach gelegt und dort neu einsortiert.
+                bucket = 2 * WHEEL_SIZE + (int) (((currentTick >>> 2 * WHEEL_BITS) - 1) & WHEEL_MASK);
+            }
+            buckets[entry] = bucket;
+            previous[entry] = NONE;
+            next[entry] = bucketHeads[bucket];
+            if (bucketHeads[bucket] != NONE) {
+                previous[bucketHeads[bucket]] = entry;
+            }
+            bucketHeads[bucket] = entry;
+            numberOfScheduledEntries++;
+        }
+
+        private void unschedule(int entry) {
+            int bucket = buckets[entry];
+            if (bucket == NONE) {
+                return;
+            }
+            if (previous[entry] != NONE) {
+                next[previous[entry]] = next[entry];
+            } else {
+                bucketHeads[bucket] = next[entry];
+            }
+            if (next[entry] != NONE) {
+                previous[next[entry]] = previous[entry];
+            }
+            buckets[entry] = NONE;
+            numberOfScheduledEntries--;
+        }
+
+        private void cascade(int bucket) {
+            int entry = bucketHeads[bucket];
+            bucketHeads[bucket] = NONE;
+            while (entry != NONE) {
+                int following = next[entry];
+                buckets[entry] = NONE;
+                numberOfScheduledEntries--;
+                schedule(entry);
+                entry = following;
+            }
+        }
+
+        private void expire(int bucket) {
+            while (bucketHeads[bucket] != NONE) {
+                int entry = bucketHeads[bucket];
+                unschedule(entry);
+                if (deadlines[entry] > currentTick) {
+                    schedule(entry);
+                } else {
+                    fire(entry);
+                }
+            }
+        }
+
+        private void fire(int entry) {
+            int index = entry / 2;
+            Runnable callback = callbacks[entry];
+            callbacks[entry] = null;
+            boolean isTimer = entry % 2 == 0;
+            if (isTimer || callback != null) {
+                // Abgelaufene Timer werden gelöscht. Alarme bleiben stehen, bis sie mit alarm() abgefragt werden, es sei
+                // denn, sie werden über einen Callback zugestellt.
+                setDeadline(entry, NOT_SET);
+                releaseIfUnused(index);
+            }
+            if (callback != null) {
+                callback.run();
+            }
+        }
+    }
+
+    /**
+     * Handle of a timer and an alarm, created by {@link #createTimer(String, Object)}. Using the handle instead of the
+     * name and the object avoids the lookup of the timer on every call.
+     */
+    public static final class TimerHandle {
+        private final String name;
+        private final Object owner;
+        private int index;
+
+        private TimerHandle(String name, Object owner, int index) {
+            this.name = name;
+            this.owner = owner;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Timers and alarms that were read by {@link #readTimers(ByteBuffer, int)} and are not restored yet.
+     */
+    public static final class SavedTimers {
+        private final int fraction;
+        private final int[] idIndices;
+        private final String[] names;
+        private final byte[] kinds;
+        private final long[] remainingTimes;
+
+        private SavedTimers(int fraction, int count) {
+            this.fraction = fraction;
+            idIndices = new int[count];
+            names = new String[count];
+            kinds = new byte[count];
+            remainingTimes = new long[count];
+        }
+    }
+
+    private static class PrintObject {
+        int x;
+        int y;
+        Color color;
+
+        public PrintObject(int x, int y, Color color) {
+            this.x = x;
+            this.y = y;
+            this.color = color;
+        }
+    }
+
+    private static class Oval extends PrintObject {
+        int width;
+        int height;
+        int lineWeight;
+        boolean filled;
+
+        public Oval(int xCenter, int yCenter, int width, int height, int lineWeight, boolean filled, Color color) {
+            super(xCenter, yCenter, color);
             this.width = width;
             this.height = height;
             this.lineWeight = lineWeight;
@@ -1011,13 +1989,147 @@ public class GameView {
         }
     }
 
+    private static class TextObject extends PrintObject {
+        String text;
+        int width;
+        int height;
+        GlyphAtlas glyphAtlas;
+
+        public TextObject(int x, int y, String text, int width, int height, GlyphAtlas glyphAtlas) {
+            super(x, y, Color.BLACK);
+            this.text = text;
+            this.width = width;
+            this.height = height;
+            this.glyphAtlas = glyphAtlas;
+        }
+    }
+
+    /**
+     * Alle Zeichen der Schrift in einer Farbe und Größe, nebeneinander in einem Bild. Jedes Zeichen belegt wie bei
+     * den Bildern aus <code>createImageFromText</code> ein Quadrat mit der Schriftgröße als Seitenlänge. Texte werden
+     * Zeichen für Zeichen aus dem Atlas kopiert, so entsteht für wechselnde Texte wie Punktestände kein neues Bild.
+     * <p>
+     * Enthalten sind die druckbaren Zeichen von ASCII und Latin-1, also auch Umlaute.
+     */
+    private static class GlyphAtlas {
+        private final static int COLUMNS = 16;
+        private final static int NUMBER_OF_ASCII_CHARACTERS = '~' - ' ' + 1;
+        private final static int NUMBER_OF_CHARACTERS = NUMBER_OF_ASCII_CHARACTERS + '\u00FF' - '\u00A0' + 1;
+
+        private final BufferedImage image;
+        private final int fontSize;
+
+        GlyphAtlas(BufferedImage image, Font font, Color color, int fontSize) {
+            this.image = image;
+            this.fontSize = fontSize;
+            Graphics2D atlasG2D = image.createGraphics();
+            Font atlasFont = font.deriveFont((float) fontSize);
+            atlasG2D.setFont(atlasFont);
+            atlasG2D.setColor(color);
+            FontMetrics fontMetrics = atlasG2D.getFontMetrics(atlasFont);
+            int xOffset = (fontSize - fontMetrics.charWidth('W')) / 2;
+            int yOffset = (fontSize + fontMetrics.getAscent() - fontMetrics.getDescent() - fontSize / 10) / 2;
+            char[] chars = new char[1];
+            for (int index = 0; index < NUMBER_OF_CHARACTERS; index++) {
+                chars[0] = index < NUMBER_OF_ASCII_CHARACTERS ? (char) (' ' + index)
+                        : (char) ('\u00A0' + index - NUMBER_OF_ASCII_CHARACTERS);
+                int x = index % COLUMNS * fontSize;
+                int y = index / COLUMNS * fontSize;
+                atlasG2D.setClip(x, y, fontSize, fontSize);
+                atlasG2D.drawChars(chars, 0, 1, x + xOffset, y + yOffset);
+            }
+            atlasG2D.dispose();
+        }
+
+        static int width(int fontSize) {
+            return COLUMNS * fontSize;
+        }
+
+        static int height(int fontSize) {
+            return (NUMBER_OF_CHARACTERS + COLUMNS - 1) / COLUMNS * fontSize;
+        }
+
+        static boolean containsAllCharacters(String text) {
+            for (int i = 0; i < text.length(); i++) {
+                char character = text.charAt(i);
+                if (character != '\n' && character != '\r' && index(character) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        static int numberOfColumns(String text) {
+            int maxColumns = 0;
+            int columns = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char character = text.charAt(i);
+                if (character == '\n' || character == '\r') {
+                    columns = 0;
+                } else {
+                    maxColumns = Math.max(maxColumns, ++columns);
+                }
+            }
+            return Math.max(1, maxColumns);
+        }
+
+        static int numberOfLines(String text) {
+            int lines = 1;
+            for (int i = 0; i < text.length(); i++) {
+                char character = text.charAt(i);
+                if (character == '\n' || character == '\r' && (i + 1 == text.length() || text.charAt(i + 1) != '\n')) {
+                    lines++;
+                }
+            }
+            return lines;
+        }
+
+        private static int index(char character) {
+            if (character >= ' ' && character <= '~') {
+                return character - ' ';
+            }
+            if (character >= '\u00A0' && character <= '\u00FF') {
+                return NUMBER_OF_ASCII_CHARACTERS + character - '\u00A0';
+            }
+            return -1;
+        }
+
+        void draw(Graphics2D g2D, String text, int x, int y) {
+            int column = 0;
+            int line = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char character = text.charAt(i);
+                if (character == '\n' || character == '\r') {
+                    if (character == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+                        i++;
+                    }
+                    line++;
+                    column = 0;
+                    continue;
+                }
+                if (character != ' ') {
+                    int index = index(character);
+                    int sourceX = index % COLUMNS * fontSize;
+                    int sourceY = index / COLUMNS * fontSize;
+                    int targetX = x + column * fontSize;
+                    int targetY = y + line * fontSize;
+                    g2D.drawImage(image, targetX, targetY, targetX + fontSize, targetY + fontSize, sourceX, sourceY,
+                            sourceX + fontSize, sourceY + fontSize, null);
+                }
+                column++;
+            }
+        }
+    }
+
     private static class Canvas implements Cloneable {
         private Color backgroundColor;
-        private final ArrayList<PrintObject> printObjects;
+        private ArrayList<PrintObject> printObjects;
+        private ArrayList<PrintObject> staticPrintObjects;
 
         Canvas() {
             this.backgroundColor = Color.black;
             this.printObjects = new ArrayList<>(30000);
+            this.staticPrintObjects = new ArrayList<>();
         }
 
         void setBackgroundColor(Color backgroundColor) {
@@ -1032,10 +2144,37 @@ public class GameView {
             return printObjects;
         }
 
+        /**
+         * Übergibt die aktuellen Objekte und arbeitet ab jetzt mit der übergebenen, leeren Liste weiter.
+         */
+        ArrayList<PrintObject> exchangePrintObjects(ArrayList<PrintObject> emptyPrintObjects) {
+            ArrayList<PrintObject> currentPrintObjects = printObjects;
+            printObjects = emptyPrintObjects;
+            return currentPrintObjects;
+        }
+
+        ArrayList<PrintObject> getStaticPrintObjects() {
+            return staticPrintObjects;
+        }
+
+        ArrayList<PrintObject> exchangeStaticPrintObjects(ArrayList<PrintObject> emptyStaticPrintObjects) {
+            ArrayList<PrintObject> currentStaticPrintObjects = staticPrintObjects;
+            staticPrintObjects = emptyStaticPrintObjects;
+            return currentStaticPrintObjects;
+        }
+
+        void addImageToStaticLayer(BufferedImage image, int x, int y, double scaleFactor) {
+            staticPrintObjects.add(new ImageObject(x, y, image, scaleFactor, 0));
+        }
+
         public void addImageToCanvas(BufferedImage image, int x, int y, double scaleFactor, double rotation) {
             printObjects.add(new ImageObject(x, y, image, scaleFactor, rotation));
         }
 
+        void addTextToCanvas(String text, int x, int y, int width, int height, GlyphAtlas glyphAtlas) {
+            printObjects.add(new TextObject(x, y, text, width, height, glyphAtlas));
+        }
+
         void addRectangleToCanvas(int x, int y, int width, int height, int lineWeight, boolean filled, Color color) {
             printObjects.add(new Rectangle(x, y, width, height, lineWeight, filled, color));
         }
@@ -1078,7 +2217,7 @@ public class GameView {
             this.keyboard = keyboard;
         }
 
-        Frame(PaintingPanel paintingPanel) {
+        Frame(Component paintingPanel) {
 
             statusBar = new JPanel() {
                 {
@@ -1233,15 +2372,38 @@ public class GameView {
         }
     }
 
+    /**
+     * Neben der Liste der gedrückten Tasten wird der Zustand aller Tasten mit einem Code unter
+     * {@value NUMBER_OF_KEY_CODES} als Bitmenge gehalten. Der Event-Dispatch-Thread setzt die Bits atomar, das Spiel
+     * liest sie einmal pro Bild in einen Schnappschuss. Aus dem aktuellen und dem vorherigen Schnappschuss ergeben sich
+     * die Tasten, die gedrückt bzw. losgelassen wurden.
+     */
     private static class Keyboard {
         private final ArrayBlockingQueue<KeyEvent> keyboardEvents;
         private final ArrayBlockingQueue<Integer> keyCodesOfCurrentlyPressedKeys;
 
         private final static int KEY_EVENT_BUFFER_SIZE = 25;
+        private final static int NUMBER_OF_KEY_CODES = 1024;
+
+        private final AtomicLongArray keysDown;
+        // Auch Tasten, die zwischen zwei Bildern gedrückt und wieder losgelassen wurden, kommen im Schnappschuss an.
+        private final AtomicLongArray keysPressedSinceSnapshot;
+        private final AtomicLongArray eventTimes;
+        // Nur vom Spiel-Thread verwendet
+        private long[] snapshot;
+        private long[] previousSnapshot;
+        private final long[] scriptedKeys;
+        private long pressTimeOfSnapshot;
 
         Keyboard() {
             keyboardEvents = new ArrayBlockingQueue<>(KEY_EVENT_BUFFER_SIZE, true);
             keyCodesOfCurrentlyPressedKeys = new ArrayBlockingQueue<>(10, true);
+            keysDown = new AtomicLongArray(NUMBER_OF_KEY_CODES / 64);
+            keysPressedSinceSnapshot = new AtomicLongArray(NUMBER_OF_KEY_CODES / 64);
+            eventTimes = new AtomicLongArray(NUMBER_OF_KEY_CODES);
+            snapshot = new long[NUMBER_OF_KEY_CODES / 64];
+            previousSnapshot = new long[NUMBER_OF_KEY_CODES / 64];
+            scriptedKeys = new long[NUMBER_OF_KEY_CODES / 64];
         }
 
         void update(KeyEvent keyEvent) {
@@ -1252,11 +2414,77 @@ public class GameView {
             if (keyEvent.getID() == KeyEvent.KEY_PRESSED) {
                 if (!keyCodesOfCurrentlyPressedKeys.contains(keyEvent.getKeyCode()))
                     keyCodesOfCurrentlyPressedKeys.add(keyEvent.getKeyCode());
+                press(keyEvent.getKeyCode());
             } else if (keyEvent.getID() == KeyEvent.KEY_RELEASED) {
                 keyCodesOfCurrentlyPressedKeys.remove(keyEvent.getKeyCode());
+                release(keyEvent.getKeyCode());
             }
         }
 
+        private void press(int keyCode) {
+            if (keyCode < 0 || keyCode >= NUMBER_OF_KEY_CODES) {
+                return;
+            }
+            long bit = 1L << keyCode;
+            // Die automatische Wiederholung einer gehaltenen Taste ändert die Zeit nicht.
+            if ((keysDown.get(keyCode >>> 6) & bit) == 0) {
+                eventTimes.set(keyCode, System.nanoTime());
+            }
+            keysDown.getAndAccumulate(keyCode >>> 6, bit, (bits, newBit) -> bits | newBit);
+            keysPressedSinceSnapshot.getAndAccumulate(keyCode >>> 6, bit, (bits, newBit) -> bits | newBit);
+        }
+
+        private void release(int keyCode) {
+            if (keyCode < 0 || keyCode >= NUMBER_OF_KEY_CODES) {
+                return;
+            }
+            eventTimes.set(keyCode, System.nanoTime());
+            keysDown.getAndAccumulate(keyCode >>> 6, 1L << keyCode, (bits, oldBit) -> bits & ~oldBit);
+        }
+
+        void takeSnapshot() {
+            long[] swap = previousSnapshot;
+            previousSnapshot = snapshot;
+            snapshot = swap;
+            pressTimeOfSnapshot = 0;
+            for (int i = 0; i < snapshot.length; i++) {
+                snapshot[i] = keysDown.get(i) | keysPressedSinceSnapshot.getAndSet(i, 0);
+                long keysThatWentDown = snapshot[i] & ~previousSnapshot[i];
+                while (keysThatWentDown != 0) {
+                    int keyCode = 64 * i + Long.numberOfTrailingZeros(keysThatWentDown);
+                    long eventTime = eventTimes.get(keyCode);
+                    if (pressTimeOfSnapshot == 0 || eventTime < pressTimeOfSnapshot) {
+                        pressTimeOfSnapshot = eventTime;
+                    }
+                    keysThatWentDown &= keysThatWentDown - 1;
+                }
+            }
+        }
+
+        /**
+         * Zeitpunkt des ältesten Tastendrucks, der im letzten Schnappschuss neu hinzugekommen ist.
+         */
+        long getPressTimeOfSnapshot() {
+            return pressTimeOfSnapshot;
+        }
+
+        boolean isDown(int keyCode) {
+            return keyCode >= 0 && keyCode < NUMBER_OF_KEY_CODES && (snapshot[keyCode >>> 6] & 1L << keyCode) != 0;
+        }
+
+        boolean wentDown(int keyCode) {
+            return isDown(keyCode) && (previousSnapshot[keyCode >>> 6] & 1L << keyCode) == 0;
+        }
+
+        boolean wentUp(int keyCode) {
+            return keyCode >= 0 && keyCode < NUMBER_OF_KEY_CODES && !isDown(keyCode)
+                   && (previousSnapshot[keyCode >>> 6] & 1L << keyCode) != 0;
+        }
+
+        long getEventTime(int keyCode) {
+            return keyCode >= 0 && keyCode < NUMBER_OF_KEY_CODES ? eventTimes.get(keyCode) : 0;
+        }
+
         KeyEvent[] pollKeyEvents() {
             KeyEvent[] events = new KeyEvent[0];
             if (keyboardEvents.size() > 0) {
@@ -1266,6 +2494,27 @@ public class GameView {
             return events;
         }
 
+        void setKeyCodesOfCurrentlyPressedKeys(int[] keyCodes) {
+            keyCodesOfCurrentlyPressedKeys.clear();
+            Arrays.fill(scriptedKeys, 0);
+            for (int keyCode : keyCodes) {
+                if (!keyCodesOfCurrentlyPressedKeys.contains(keyCode)) {
+                    keyCodesOfCurrentlyPressedKeys.offer(keyCode);
+                }
+                if (keyCode >= 0 && keyCode < NUMBER_OF_KEY_CODES) {
+                    scriptedKeys[keyCode >>> 6] |= 1L << keyCode;
+                }
+            }
+            long now = System.nanoTime();
+            for (int i = 0; i < scriptedKeys.length; i++) {
+                long changedKeys = keysDown.getAndSet(i, scriptedKeys[i]) ^ scriptedKeys[i];
+                while (changedKeys != 0) {
+                    eventTimes.set(64 * i + Long.numberOfTrailingZeros(changedKeys), now);
+                    changedKeys &= changedKeys - 1;
+                }
+            }
+        }
+
         Integer[] getKeyCodesOfCurrentlyPressedKeys() {
             Integer[] keyCodes = new Integer[0];
             if (keyCodesOfCurrentlyPressedKeys.size() > 0) {
@@ -1299,7 +2548,7 @@ public class GameView {
         private void setMouseInvisible() {
             this.useMouse = false;
             setInvisibleMouseCursor();
-            if (!invisibleMouseTimer.isRunning()) {
+            if (!swingAdapter.headless && !invisibleMouseTimer.isRunning()) {
                 invisibleMouseTimer.start();
             }
         }
@@ -1373,75 +2622,230 @@ public class GameView {
         }
     }
 
+    /**
+     * Spielt alle Sounds über eine einzige Audioleitung ab. Ein eigener Thread mischt die laufenden Sounds zusammen,
+     * das Spiel schickt ihm nur Befehle über eine Warteschlange ohne Sperren. Die Sounds werden nur einmal dekodiert.
+     * <p>
+     * Es laufen höchstens {@value MAX_VOICES} Sounds gleichzeitig, davon höchstens {@value MAX_VOICES_PER_SOUND} aus
+     * derselben Datei. Kommt ein weiterer hinzu, wird der älteste davon beendet.
+     */
     private static class Sound {
-        private final ConcurrentHashMap<Integer, Optional<Clip>> clips;
-        private static int soundCounter;
+        private final static AudioFormat FORMAT = new AudioFormat(DecodedSound.SAMPLE_RATE, 16, 2, true, false);
+        private final static int FRAMES_PER_CHUNK = 512;
+        private final static int MAX_VOICES = 16;
+        private final static int MAX_VOICES_PER_SOUND = 4;
 
-        Sound() {
-            this.clips = new ConcurrentHashMap<>();
+        private static int soundCounter;
+        private final boolean muted;
+        private final Preloader preloader;
+        private final ConcurrentLinkedQueue<SoundCommand> commands;
+        private final Thread mixerThread;
+        // Nur vom Misch-Thread verwendet
+        private final Voice[] voices;
+        private long numberOfStartedVoices;
+
+        Sound(boolean muted, Preloader preloader) {
+            this.muted = muted;
+            this.preloader = preloader;
+            this.commands = new ConcurrentLinkedQueue<>();
+            this.voices = new Voice[MAX_VOICES];
+            for (int i = 0; i < voices.length; i++) {
+                voices[i] = new Voice();
+            }
             soundCounter = 0;
+            if (muted) {
+                this.mixerThread = null;
+            } else {
+                this.mixerThread = new Thread(this::mix, "GameView-Sound");
+                this.mixerThread.setDaemon(true);
+                this.mixerThread.start();
+            }
         }
 
         int playSound(String sound, boolean replay) {
             final int id = ++soundCounter;
-            clips.put(id, Optional.empty());
-            new Thread(() -> {
-                try {
-                    AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(Objects.requireNonNull(GameView.class.getResource(
-                            "/thd/resources/" + sound)));
-                    Clip clip = AudioSystem.getClip();
-                    clip.open(audioInputStream);
-                    clip.addLineListener(event -> {
-                        if (event.getType().equals(LineEvent.Type.STOP)) {
-                            event.getLine().close();
-                        }
-                    });
-                    if (replay) {
-                        clip.loop(Clip.LOOP_CONTINUOUSLY);
-                    } else {
-                        clip.start();
-                    }
-                    clips.put(id, Optional.of(clip));
-                } catch (Exception e) {
-                    System.err.println("Soundfile \"" + sound + "\" konnte nicht abgespielt werden!");
-                    e.printStackTrace();
-                    System.exit(1);
-                }
-            }).start();
+            send(new SoundCommand(id, sound, replay));
             return id;
         }
 
         void stopSound(int id) {
-            new Thread(() -> {
-                synchronized (clips) {
-                    if (clips.containsKey(id)) {
-                        while (clips.get(id).isEmpty()) {
-                            Thread.onSpinWait();
-                        }
-                        Clip clip = clips.get(id).get();
-                        // Mute the clip
-                        BooleanControl muteControl = (BooleanControl) clip.getControl(BooleanControl.Type.MUTE);
-                        if (muteControl != null) {
-                            muteControl.setValue(true); // True to mute the line
-                        }
-                        clip.stop();
-                        clips.remove(id);
-                    }
-                }
-            }).start();
+            send(new SoundCommand(id, null, false));
         }
 
         void stopAllSounds() {
-            Integer[] keys = clips.keySet().toArray(new Integer[0]);
-            for (Integer number : keys) {
-                stopSound(number);
+            send(new SoundCommand(SoundCommand.ALL, null, false));
+        }
+
+        private void send(SoundCommand command) {
+            if (!muted) {
+                commands.offer(command);
+                LockSupport.unpark(mixerThread);
+            }
+        }
+
+        private void mix() {
+            SourceDataLine line = null;
+            boolean lineUnavailable = false;
+            int[] mixedSamples = new int[FRAMES_PER_CHUNK * 2];
+            byte[] output = new byte[FRAMES_PER_CHUNK * FORMAT.getFrameSize()];
+            while (true) {
+                processCommands();
+                if (lineUnavailable || !hasActiveVoices()) {
+                    stopAllVoices();
+                    if (line != null) {
+                        line.drain();
+                    }
+                    LockSupport.park(this);
+                    continue;
+                }
+                if (line == null) {
+                    try {
+                        line = AudioSystem.getSourceDataLine(FORMAT);
+                        line.open(FORMAT, 4 * output.length);
+                        line.start();
+                    } catch (Exception e) {
+                        System.err.println("Es steht keine Audioausgabe zur Verfügung, Sounds werden nicht abgespielt!");
+                        lineUnavailable = true;
+                        continue;
+                    }
+                }
+                Arrays.fill(mixedSamples, 0);
+                for (Voice voice : voices) {
+                    voice.mixInto(mixedSamples);
+                }
+                for (int i = 0; i < mixedSamples.length; i++) {
+                    int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mixedSamples[i]));
+                    output[2 * i] = (byte) sample;
+                    output[2 * i + 1] = (byte) (sample >> 8);
+                }
+                // Blockiert, bis in der Leitung Platz ist, und gibt so den Takt vor.
+                line.write(output, 0, output.length);
+            }
+        }
+
+        private void processCommands() {
+            SoundCommand command;
+            while ((command = commands.poll()) != null) {
+                if (command.sound != null) {
+                    startVoice(command);
+                } else {
+                    for (Voice voice : voices) {
+                        if (command.id == SoundCommand.ALL || voice.id == command.id) {
+                            voice.samples = null;
+                        }
+                    }
+                }
+            }
+        }
+
+        private void startVoice(SoundCommand command) {
+            DecodedSound decodedSound = preloader.getSound(command.sound);
+            Voice freeVoice = null;
+            Voice oldestVoice = voices[0];
+            Voice oldestVoiceOfSound = null;
+            int numberOfVoicesOfSound = 0;
+            for (Voice voice : voices) {
+                if (voice.samples == null) {
+                    freeVoice = freeVoice == null ? voice : freeVoice;
+                    continue;
+                }
+                if (voice.startNumber < oldestVoice.startNumber || oldestVoice.samples == null) {
+                    oldestVoice = voice;
+                }
+                if (voice.sound.equals(command.sound)) {
+                    numberOfVoicesOfSound++;
+                    if (oldestVoiceOfSound == null || voice.startNumber < oldestVoiceOfSound.startNumber) {
+                        oldestVoiceOfSound = voice;
+                    }
+                }
+            }
+            Voice voice;
+            if (numberOfVoicesOfSound >= MAX_VOICES_PER_SOUND) {
+                voice = oldestVoiceOfSound;
+            } else if (freeVoice != null) {
+                voice = freeVoice;
+            } else {
+                voice = oldestVoice;
+            }
+            voice.id = command.id;
+            voice.sound = command.sound;
+            voice.samples = decodedSound.samples;
+            voice.position = 0;
+            voice.replay = command.replay;
+            voice.startNumber = numberOfStartedVoices++;
+        }
+
+        private boolean hasActiveVoices() {
+            for (Voice voice : voices) {
+                if (voice.samples != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void stopAllVoices() {
+            for (Voice voice : voices) {
+                voice.samples = null;
+            }
+        }
+    }
+
+    /**
+     * Ein Befehl des Spiels an den Misch-Thread. Ohne Sound wird der Sound mit der Nummer beendet.
+     */
+    private static class SoundCommand {
+        private final static int ALL = 0;
+
+        private final int id;
+        private final String sound;
+        private final boolean replay;
+
+        SoundCommand(int id, String sound, boolean replay) {
+            this.id = id;
+            this.sound = sound;
+            this.replay = replay;
+        }
+    }
+
+    /**
+     * Ein laufender Sound im Mischer.
+     */
+    private static class Voice {
+        private int id;
+        private String sound;
+        private short[] samples;
+        private int position;
+        private boolean replay;
+        private long startNumber;
+
+        void mixInto(int[] mixedSamples) {
+            if (samples == null) {
+                return;
+            }
+            for (int i = 0; i < mixedSamples.length; i++) {
+                if (position == samples.length) {
+                    if (!replay || samples.length == 0) {
+                        samples = null;
+                        return;
+                    }
+                    position = 0;
+                }
+                mixedSamples[i] += samples[position++];
             }
         }
     }
 
     private static class SwingAdapter {
 
+        private final boolean headless;
+        private final Preloader preloader;
+        private final boolean accelerated;
         private final PaintingPanel paintingPanel;
+        private final AcceleratedCanvas acceleratedCanvas;
+        private final Component display;
+        private final GraphicsConfiguration graphicsConfiguration;
+        private final SpriteCache spriteCache;
         private final Frame frame;
         private Sound sound;
         private Mouse mouse;
@@ -1451,13 +2855,40 @@ public class GameView {
         private int currentBufferedImage;
         private Graphics2D g2D;
         private HashMap<Character, Color> colorMap;
-        private final HashMap<Integer, BufferedImage> imageMap;
-        private double sizeOfImageMapInMB;
-        private final static int IMAGE_MAP_LIMIT_IN_MB = 1000;
-
-        SwingAdapter() {
-            this.paintingPanel = new PaintingPanel();
-            this.frame = new Frame(paintingPanel);
+        private final ImageCache<String> fileImages;
+        private final ImageCache<String> blockImages;
+        private final ImageCache<java.util.List<Object>> textImages;
+        private final HashMap<Color, HashMap<Integer, GlyphAtlas>> glyphAtlases;
+        private final static long FILE_IMAGES_LIMIT_IN_BYTES = 256L * 1024 * 1024;
+        private final static long BLOCK_IMAGES_LIMIT_IN_BYTES = 32L * 1024 * 1024;
+        private final static long TEXT_IMAGES_LIMIT_IN_BYTES = 32L * 1024 * 1024;
+        private volatile long rasterizationTimeInNanoseconds;
+
+        // Statische Ebene und Kacheln, die in den einzelnen Puffern von Objekten bedeckt sind
+        private final static int TILE_SIZE = 32;
+        private final static int TILE_COLUMNS = (GameView.WIDTH + TILE_SIZE - 1) / TILE_SIZE;
+        private final static int TILE_ROWS = (GameView.HEIGHT + TILE_SIZE - 1) / TILE_SIZE;
+        private final BufferedImage staticLayer;
+        private final ArrayList<PrintObject> staticLayerObjects;
+        private Color staticLayerBackgroundColor;
+        private int staticLayerVersion;
+        private final int[] staticLayerVersionOfBufferedImages;
+        private final long[][] tilesOfBufferedImages;
+        private final long[] tiles;
+
+        SwingAdapter(boolean headless, Preloader preloader) {
+            // Ohne Fenster werden nur die Bilder erzeugt, alle Aufrufe, die das Fenster betreffen, werden ignoriert.
+            this.headless = headless;
+            this.preloader = preloader;
+            // Im beschleunigten Modus zeichnet der Zeichen-Thread selbst in eine BufferStrategy statt über repaint().
+            this.accelerated = !headless && Boolean.getBoolean("gameview.accelerated");
+            this.paintingPanel = headless || accelerated ? null : new PaintingPanel();
+            this.acceleratedCanvas = accelerated ? new AcceleratedCanvas() : null;
+            this.display = accelerated ? acceleratedCanvas : paintingPanel;
+            this.graphicsConfiguration = accelerated ? GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration() : null;
+            this.spriteCache = new SpriteCache(graphicsConfiguration);
+            this.frame = headless ? null : new Frame(display);
             this.bufferedImages = new BufferedImage[5];
             this.currentBufferedImage = 0;
             for (int i = 0; i < bufferedImages.length; i++) {
@@ -1465,20 +2896,35 @@ public class GameView {
             }
             this.bufferedImage = bufferedImages[currentBufferedImage];
             this.g2D = bufferedImage.createGraphics();
+            this.staticLayer = accelerated
+                    ? graphicsConfiguration.createCompatibleImage(GameView.WIDTH, GameView.HEIGHT)
+                    : new BufferedImage(GameView.WIDTH, GameView.HEIGHT, BufferedImage.TYPE_INT_RGB);
+            this.staticLayerObjects = new ArrayList<>();
+            this.staticLayerVersionOfBufferedImages = new int[bufferedImages.length];
+            Arrays.fill(staticLayerVersionOfBufferedImages, -1);
+            this.tiles = new long[(TILE_COLUMNS * TILE_ROWS + 63) / 64];
+            this.tilesOfBufferedImages = new long[bufferedImages.length][tiles.length];
             Map<TextAttribute, Object> fontMap = new HashMap<>();
             fontMap.put(TextAttribute.FAMILY, "Monospaced");
             fontMap.put(TextAttribute.WEIGHT, TextAttribute.WEIGHT_BOLD);
             this.font = new Font(fontMap);
             initColorMap();
-            this.imageMap = new HashMap<>();
+            this.fileImages = new ImageCache<>("file images", FILE_IMAGES_LIMIT_IN_BYTES);
+            this.blockImages = new ImageCache<>("block images", BLOCK_IMAGES_LIMIT_IN_BYTES);
+            this.textImages = new ImageCache<>("text images", TEXT_IMAGES_LIMIT_IN_BYTES);
+            this.glyphAtlases = new HashMap<>();
         }
 
         public void setColorForBlockImage(char character, Color color) {
             colorMap.put(character, color);
+            // Bereits erzeugte Blockgrafiken haben noch die alten Farben.
+            blockImages.clear();
         }
 
         void registerListeners(Mouse mouse, Keyboard keyboard, Sound sound) {
-            frame.registerListeners(mouse, keyboard);
+            if (!headless) {
+                frame.registerListeners(mouse, keyboard);
+            }
             this.sound = sound;
             this.mouse = mouse;
         }
@@ -1507,6 +2953,9 @@ public class GameView {
 
         // Anzeige
         void setStatusText(String statusText) {
+            if (headless) {
+                return;
+            }
             SwingUtilities.invokeLater(() -> {
                 frame.getStatusLabelLinks().setText(statusText);
                 int minWidth = frame.getStatusBar().getPreferredSize().width + 50;
@@ -1514,20 +2963,211 @@ public class GameView {
             });
         }
 
-        void printToDisplay(ArrayList<PrintObject> printObjects, Color backgroundColor) {
+        void printToDisplay(ArrayList<PrintObject> printObjects, ArrayList<PrintObject> staticPrintObjects,
+                            Color backgroundColor) {
+            long startTime = System.nanoTime();
+            if (accelerated) {
+                printToAcceleratedCanvas(printObjects, staticPrintObjects, backgroundColor);
+                rasterizationTimeInNanoseconds = System.nanoTime() - startTime;
+                return;
+            }
             currentBufferedImage = currentBufferedImage < bufferedImages.length - 1 ? ++currentBufferedImage : 0;
             this.bufferedImage = bufferedImages[currentBufferedImage];
-            createImageFromPrintObjects(printObjects, backgroundColor);
-            paintingPanel.bufferedImage = bufferedImage;
-            paintingPanel.repaint();
+            createImageFromPrintObjects(printObjects, staticPrintObjects, backgroundColor);
+            rasterizationTimeInNanoseconds = System.nanoTime() - startTime;
+            if (!headless) {
+                paintingPanel.bufferedImage = bufferedImage;
+                paintingPanel.repaint();
+            }
+        }
+
+        /**
+         * Zeichnet ein Bild direkt in den hinteren Puffer der BufferStrategy und zeigt ihn an. Der Hintergrund wird
+         * jedes Mal vollständig aus der statischen Ebene kopiert, da die Grafikkarte das schneller erledigt als das
+         * Verwalten einzelner Kacheln. Geht der Inhalt des Puffers verloren, wird das Bild neu gezeichnet.
+         */
+        private void printToAcceleratedCanvas(ArrayList<PrintObject> printObjects,
+                                              ArrayList<PrintObject> staticPrintObjects, Color backgroundColor) {
+            BufferStrategy bufferStrategy = acceleratedCanvas.getOrCreateBufferStrategy();
+            if (bufferStrategy == null) {
+                return;
+            }
+            updateStaticLayer(staticPrintObjects, backgroundColor);
+            int width = acceleratedCanvas.getWidth();
+            int height = acceleratedCanvas.getHeight();
+            double scalingFactor = Math.min(width * 1d / GameView.WIDTH, height * 1d / GameView.HEIGHT);
+            do {
+                do {
+                    Graphics2D canvasG2D = (Graphics2D) bufferStrategy.getDrawGraphics();
+                    canvasG2D.setColor(Color.BLACK);
+                    canvasG2D.fillRect(0, 0, width, height);
+                    canvasG2D.scale(scalingFactor, scalingFactor);
+                    canvasG2D.drawImage(staticLayer, 0, 0, null);
+                    canvasG2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                    drawPrintObjects(canvasG2D, printObjects);
+                    canvasG2D.dispose();
+                } while (bufferStrategy.contentsRestored());
+                bufferStrategy.show();
+            } while (bufferStrategy.contentsLost());
+            Toolkit.getDefaultToolkit().sync();
         }
 
-        private void createImageFromPrintObjects(ArrayList<PrintObject> printObjects, Color backgroundColor) {
+        /**
+         * Zeichnet ein Bild. Der Hintergrund kommt aus der statischen Ebene. Falls das Bild, in das gezeichnet wird,
+         * schon dieselbe statische Ebene enthält, werden nur die Kacheln aus der statischen Ebene wiederhergestellt, die
+         * von den Objekten dieses Bildes oder des letzten Bildes in diesem Puffer bedeckt werden.
+         */
+        private void createImageFromPrintObjects(ArrayList<PrintObject> printObjects,
+                                                 ArrayList<PrintObject> staticPrintObjects, Color backgroundColor) {
+            updateStaticLayer(staticPrintObjects, backgroundColor);
+            Arrays.fill(tiles, 0);
+            for (PrintObject printObject : printObjects) {
+                markTiles(printObject, tiles);
+            }
+            long[] tilesOfBufferedImage = tilesOfBufferedImages[currentBufferedImage];
             g2D = bufferedImage.createGraphics();
+            if (staticLayerVersionOfBufferedImages[currentBufferedImage] != staticLayerVersion) {
+                g2D.drawImage(staticLayer, 0, 0, null);
+            } else {
+                for (int i = 0; i < tilesOfBufferedImage.length; i++) {
+                    tilesOfBufferedImage[i] |= tiles[i];
+                }
+                restoreTilesFromStaticLayer(g2D, tilesOfBufferedImage);
+            }
+            System.arraycopy(tiles, 0, tilesOfBufferedImage, 0, tiles.length);
+            staticLayerVersionOfBufferedImages[currentBufferedImage] = staticLayerVersion;
             g2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g2D.setColor(backgroundColor);
-            g2D.fillRect(0, 0, GameView.WIDTH, GameView.HEIGHT);
-            char[] chars;
+            drawPrintObjects(g2D, printObjects);
+            g2D.dispose();
+        }
+
+        private void updateStaticLayer(ArrayList<PrintObject> staticPrintObjects, Color backgroundColor) {
+            if (backgroundColor.equals(staticLayerBackgroundColor) && sameImages(staticPrintObjects, staticLayerObjects)) {
+                return;
+            }
+            Graphics2D staticG2D = staticLayer.createGraphics();
+            staticG2D.setColor(backgroundColor);
+            staticG2D.fillRect(0, 0, GameView.WIDTH, GameView.HEIGHT);
+            drawPrintObjects(staticG2D, staticPrintObjects);
+            staticG2D.dispose();
+            staticLayerBackgroundColor = backgroundColor;
+            staticLayerObjects.clear();
+            staticLayerObjects.addAll(staticPrintObjects);
+            staticLayerVersion++;
+        }
+
+        private static boolean sameImages(ArrayList<PrintObject> printObjects, ArrayList<PrintObject> otherPrintObjects) {
+            if (printObjects.size() != otherPrintObjects.size()) {
+                return false;
+            }
+            for (int i = 0; i < printObjects.size(); i++) {
+                ImageObject imageObject = (ImageObject) printObjects.get(i);
+                ImageObject other = (ImageObject) otherPrintObjects.get(i);
+                if (imageObject.image != other.image || imageObject.x != other.x || imageObject.y != other.y
+                    || imageObject.scaleFactor != other.scaleFactor) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void markTiles(PrintObject p, long[] tiles) {
+            int left;
+            int top;
+            int right;
+            int bottom;
+            if (p.getClass() == ImageObject.class) {
+                ImageObject imageObject = (ImageObject) p;
+                int width = imageObject.image.getWidth();
+                int height = imageObject.image.getHeight();
+                double centerX = imageObject.x + imageObject.scaleFactor * width / 2;
+                double centerY = imageObject.y + imageObject.scaleFactor * height / 2;
+                // Der Radius deckt jede Rotation ab.
+                double radius = imageObject.scaleFactor * Math.sqrt(width * width + height * height) / 2;
+                left = (int) Math.floor(centerX - radius);
+                top = (int) Math.floor(centerY - radius);
+                right = (int) Math.ceil(centerX + radius);
+                bottom = (int) Math.ceil(centerY + radius);
+            } else if (p.getClass() == Oval.class) {
+                Oval oval = (Oval) p;
+                left = oval.x - oval.width / 2 - oval.lineWeight;
+                top = oval.y - oval.height / 2 - oval.lineWeight;
+                right = oval.x + oval.width / 2 + 2 * oval.lineWeight;
+                bottom = oval.y + oval.height / 2 + 2 * oval.lineWeight;
+            } else if (p.getClass() == Rectangle.class) {
+                Rectangle rectangle = (Rectangle) p;
+                left = rectangle.x - rectangle.lineWeight;
+                top = rectangle.y - rectangle.lineWeight;
+                right = rectangle.x + rectangle.width + 2 * rectangle.lineWeight;
+                bottom = rectangle.y + rectangle.height + 2 * rectangle.lineWeight;
+            } else if (p.getClass() == TextObject.class) {
+                TextObject textObject = (TextObject) p;
+                left = textObject.x;
+                top = textObject.y;
+                right = textObject.x + textObject.width;
+                bottom = textObject.y + textObject.height;
+            } else if (p.getClass() == Line.class) {
+                Line line = (Line) p;
+                left = Math.min(line.x, line.xEnd) - line.lineWeight;
+                top = Math.min(line.y, line.yEnd) - line.lineWeight;
+                right = Math.max(line.x, line.xEnd) + line.lineWeight;
+                bottom = Math.max(line.y, line.yEnd) + line.lineWeight;
+            } else {
+                int[] xCoordinates = p.getClass() == Polygon.class ? ((Polygon) p).xCoordinates : ((PolyLine) p).xCoordinates;
+                int[] yCoordinates = p.getClass() == Polygon.class ? ((Polygon) p).yCoordinates : ((PolyLine) p).yCoordinates;
+                int lineWeight = p.getClass() == Polygon.class ? ((Polygon) p).lineWeight : ((PolyLine) p).lineWeight;
+                left = Integer.MAX_VALUE;
+                top = Integer.MAX_VALUE;
+                right = Integer.MIN_VALUE;
+                bottom = Integer.MIN_VALUE;
+                for (int i = 0; i < xCoordinates.length; i++) {
+                    left = Math.min(left, xCoordinates[i] - lineWeight);
+                    top = Math.min(top, yCoordinates[i] - lineWeight);
+                    right = Math.max(right, xCoordinates[i] + lineWeight);
+                    bottom = Math.max(bottom, yCoordinates[i] + lineWeight);
+                }
+                if (xCoordinates.length == 0) {
+                    return;
+                }
+            }
+            // Antialiasing kann ein Pixel über den Rand hinaus zeichnen.
+            int firstColumn = Math.max(0, (left - 2) / TILE_SIZE);
+            int lastColumn = Math.min(TILE_COLUMNS - 1, (right + 2) / TILE_SIZE);
+            int firstRow = Math.max(0, (top - 2) / TILE_SIZE);
+            int lastRow = Math.min(TILE_ROWS - 1, (bottom + 2) / TILE_SIZE);
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    int tile = row * TILE_COLUMNS + column;
+                    tiles[tile >>> 6] |= 1L << tile;
+                }
+            }
+        }
+
+        private void restoreTilesFromStaticLayer(Graphics2D g2D, long[] tiles) {
+            for (int row = 0; row < TILE_ROWS; row++) {
+                int column = 0;
+                while (column < TILE_COLUMNS) {
+                    int tile = row * TILE_COLUMNS + column;
+                    if ((tiles[tile >>> 6] & 1L << tile) == 0) {
+                        column++;
+                        continue;
+                    }
+                    // Nebeneinanderliegende Kacheln werden zusammen kopiert.
+                    int firstColumn = column;
+                    do {
+                        column++;
+                        tile++;
+                    } while (column < TILE_COLUMNS && (tiles[tile >>> 6] & 1L << tile) != 0);
+                    int x1 = firstColumn * TILE_SIZE;
+                    int y1 = row * TILE_SIZE;
+                    int x2 = Math.min(GameView.WIDTH, column * TILE_SIZE);
+                    int y2 = Math.min(GameView.HEIGHT, y1 + TILE_SIZE);
+                    g2D.drawImage(staticLayer, x1, y1, x2, y2, x1, y1, x2, y2, null);
+                }
+            }
+        }
+
+        private void drawPrintObjects(Graphics2D g2D, ArrayList<PrintObject> printObjects) {
             for (PrintObject p : printObjects) {
                 if (p.color != null) {
                     g2D.setColor(p.color);
@@ -1567,9 +3207,17 @@ public class GameView {
                         PolyLine polyLine = (PolyLine) p;
                         g2D.setStroke(new BasicStroke(polyLine.lineWeight));
                         g2D.drawPolyline(polyLine.xCoordinates, polyLine.yCoordinates, polyLine.xCoordinates.length);
+                    } else if (p.getClass() == TextObject.class) {
+                        TextObject textObject = (TextObject) p;
+                        textObject.glyphAtlas.draw(g2D, textObject.text, textObject.x, textObject.y);
                     } else if (p.getClass() == ImageObject.class) {
                         ImageObject imageObject = (ImageObject) p;
-                        AffineTransform trans = g2D.getTransform();
+                        if (spriteCache.draw(g2D, imageObject.image, imageObject.x, imageObject.y,
+                                imageObject.scaleFactor, imageObject.rotation)) {
+                            continue;
+                        }
+                        // Die Transformation wird mit der des Graphics2D-Objekts verknüpft, z.B. der Skalierung.
+                        AffineTransform trans = new AffineTransform();
                         trans.translate(imageObject.x, imageObject.y);
                         trans.scale(imageObject.scaleFactor, imageObject.scaleFactor);
                         trans.rotate(Math.toRadians(imageObject.rotation), imageObject.image.getWidth() / 2.0,
@@ -1578,28 +3226,18 @@ public class GameView {
                     }
                 }
             }
-            g2D.dispose();
         }
 
         BufferedImage createImageFromFile(String imageFileName) {
-            int hash = imageFileName.hashCode();
-            BufferedImage image = imageMap.get(hash);
+            BufferedImage image = fileImages.get(imageFileName);
             if (image == null) {
-                try {
-                    image = ImageIO.read(GameView.class.getResource("/thd/resources/" + imageFileName));
-                } catch (Exception e) {
-                    e.printStackTrace();
-                    System.err.println("Symbolfile \"" + imageFileName + "\" konnte nicht gefunden werden!");
-                    System.exit(1);
-                }
-                addImageToMapOrClearMap(hash, image);
+                image = addImageToCache(fileImages, imageFileName, preloader.getImage(imageFileName));
             }
             return image;
         }
 
         BufferedImage createImageFromColorString(String colorString) {
-            int hash = colorString.hashCode();
-            BufferedImage image = imageMap.get(hash);
+            BufferedImage image = blockImages.get(colorString);
             if (image == null) {
                 String[] lines = colorString.split("\\R");
                 int height = lines.length;
@@ -1617,14 +3255,14 @@ public class GameView {
                     }
                 }
                 g2D.dispose();
-                addImageToMapOrClearMap(hash, image);
+                image = addImageToCache(blockImages, colorString, image);
             }
             return image;
         }
 
         BufferedImage createImageFromText(String text, Color color, int fontSize) {
-            int hash = Objects.hash(text, color, fontSize);
-            BufferedImage image = imageMap.get(hash);
+            java.util.List<Object> key = java.util.List.of(text, color, fontSize);
+            BufferedImage image = textImages.get(key);
             if (image == null) {
                 String[] lines = text.split("\\R");
                 int height = lines.length * fontSize;
@@ -1646,27 +3284,68 @@ public class GameView {
                                  - fontSize / 10) / 2);
                     }
                 }
-                g2D.dispose();
-                addImageToMapOrClearMap(hash, image);
+                imageG2D.dispose();
+                image = addImageToCache(textImages, key, image);
             }
             return image;
         }
 
-        private void addImageToMapOrClearMap(int hash, BufferedImage image) {
-            if (sizeOfImageMapInMB > IMAGE_MAP_LIMIT_IN_MB) {
-                imageMap.clear();
-                sizeOfImageMapInMB = 0;
+        GlyphAtlas getGlyphAtlas(Color color, int fontSize) {
+            HashMap<Integer, GlyphAtlas> glyphAtlasesOfColor = glyphAtlases.computeIfAbsent(color, c -> new HashMap<>());
+            GlyphAtlas glyphAtlas = glyphAtlasesOfColor.get(fontSize);
+            if (glyphAtlas == null) {
+                int width = GlyphAtlas.width(fontSize);
+                int height = GlyphAtlas.height(fontSize);
+                BufferedImage image = graphicsConfiguration == null
+                        ? new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE)
+                        : graphicsConfiguration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+                glyphAtlas = new GlyphAtlas(image, font, color, fontSize);
+                glyphAtlasesOfColor.put(fontSize, glyphAtlas);
             }
-            imageMap.put(hash, image);
-            sizeOfImageMapInMB += image.getHeight() * image.getWidth() * 0.000004;
+            return glyphAtlas;
+        }
+
+        private <K> BufferedImage addImageToCache(ImageCache<K> imageCache, K key, BufferedImage image) {
+            image = toCompatibleImage(image);
+            imageCache.put(key, image);
+            return image;
+        }
+
+        String getImageCacheStatistics() {
+            int numberOfGlyphAtlases = glyphAtlases.values().stream().mapToInt(HashMap::size).sum();
+            return fileImages + "\n" + blockImages + "\n" + textImages + "\n"
+                   + String.format("sprites: %.1f MB", spriteCache.getSizeInBytes() / 1024d / 1024d) + "\n"
+                   + "glyph atlases: " + numberOfGlyphAtlases;
+        }
+
+        /**
+         * Im beschleunigten Modus werden alle Bilder in das Format des Bildschirms umgewandelt. Java2D kann solche
+         * Bilder im Speicher der Grafikkarte halten und ohne Umrechnung kopieren.
+         */
+        private BufferedImage toCompatibleImage(BufferedImage image) {
+            if (graphicsConfiguration == null
+                || image.getColorModel().equals(graphicsConfiguration.getColorModel(image.getTransparency()))) {
+                return image;
+            }
+            BufferedImage compatibleImage = graphicsConfiguration.createCompatibleImage(image.getWidth(),
+                    image.getHeight(), image.getTransparency());
+            Graphics2D compatibleG2D = compatibleImage.createGraphics();
+            compatibleG2D.drawImage(image, 0, 0, null);
+            compatibleG2D.dispose();
+            return compatibleImage;
         }
 
         // Fenster-Dekorationen
         void setTitle(String title) {
-            frame.setTitle(title);
+            if (!headless) {
+                frame.setTitle(title);
+            }
         }
 
         void setWindowIcon(String windowIcon) {
+            if (headless) {
+                return;
+            }
             Image fensterSymbol = null;
             try {
                 fensterSymbol = new ImageIcon(GameView.class.getResource("/thd/resources/" + windowIcon)).getImage();
@@ -1679,9 +3358,12 @@ public class GameView {
 
         // Maus Cursor
         void setMouseCursor(String cursor, boolean centered) {
+            if (headless) {
+                return;
+            }
             try {
                 Image im = new ImageIcon(GameView.class.getResource("/thd/resources/" + cursor)).getImage();
-                SwingUtilities.invokeLater(() -> paintingPanel.setCursor(createCursor(im, centered)));
+                SwingUtilities.invokeLater(() -> display.setCursor(createCursor(im, centered)));
             } catch (Exception e) {
                 System.out.println("Cursor-Datei konnte nicht gefunden werden!");
                 System.exit(1);
@@ -1689,7 +3371,7 @@ public class GameView {
         }
 
         private Cursor createCursor(Image im, boolean centered) {
-            Toolkit toolkit = paintingPanel.getToolkit();
+            Toolkit toolkit = display.getToolkit();
             Dimension cursorSize = Toolkit.getDefaultToolkit().getBestCursorSize(64, 64);
             Point cursorHotSpot = new Point(0, 0);
             if (centered) {
@@ -1699,17 +3381,25 @@ public class GameView {
         }
 
         void setStandardMouseCursor() {
-            SwingUtilities.invokeLater(() -> paintingPanel.setCursor(Cursor.getDefaultCursor()));
+            if (headless) {
+                return;
+            }
+            SwingUtilities.invokeLater(() -> display.setCursor(Cursor.getDefaultCursor()));
         }
 
         void setInvisibleMouseCursor() {
+            if (headless) {
+                return;
+            }
             Image im = new ImageIcon("").getImage();
-            SwingUtilities.invokeLater(() -> paintingPanel.setCursor(createCursor(im, false)));
+            SwingUtilities.invokeLater(() -> display.setCursor(createCursor(im, false)));
         }
 
         // Beenden
         void closeWindow(boolean terminateEverything) {
-            frame.dispose();
+            if (!headless) {
+                frame.dispose();
+            }
             sound.stopAllSounds();
             mouse.invisibleMouseTimer.stop();
             if (terminateEverything) {
@@ -1718,7 +3408,392 @@ public class GameView {
         }
 
         Dimension getTextDisplaySize() {
-            return paintingPanel.getSize();
+            return display.getSize();
+        }
+    }
+
+    /**
+     * Zwischenspeicher für Bilder mit begrenzter Größe. Ist die Grenze überschritten, werden die am längsten nicht
+     * verwendeten Bilder entfernt, statt alle auf einmal. Die Größe eines Bildes wird aus seinem Raster berechnet.
+     *
+     * @param <K> Typ der Schlüssel.
+     */
+    private static class ImageCache<K> {
+        private final String name;
+        private final long limitInBytes;
+        private final LinkedHashMap<K, BufferedImage> images;
+        private long sizeInBytes;
+        private long hits;
+        private long misses;
+        private long evictions;
+
+        ImageCache(String name, long limitInBytes) {
+            this.name = name;
+            this.limitInBytes = limitInBytes;
+            this.images = new LinkedHashMap<>(64, 0.75f, true);
+        }
+
+        BufferedImage get(K key) {
+            BufferedImage image = images.get(key);
+            if (image == null) {
+                misses++;
+            } else {
+                hits++;
+            }
+            return image;
+        }
+
+        void put(K key, BufferedImage image) {
+            BufferedImage previousImage = images.put(key, image);
+            if (previousImage != null) {
+                sizeInBytes -= sizeInBytes(previousImage);
+            }
+            sizeInBytes += sizeInBytes(image);
+            // Das neue Bild steht am Ende und bleibt immer erhalten.
+            Iterator<BufferedImage> leastRecentlyUsed = images.values().iterator();
+            while (sizeInBytes > limitInBytes && images.size() > 1) {
+                sizeInBytes -= sizeInBytes(leastRecentlyUsed.next());
+                leastRecentlyUsed.remove();
+                evictions++;
+            }
+        }
+
+        void clear() {
+            images.clear();
+            sizeInBytes = 0;
+        }
+
+        private static long sizeInBytes(BufferedImage image) {
+            DataBuffer dataBuffer = image.getRaster().getDataBuffer();
+            return (long) dataBuffer.getSize() * dataBuffer.getNumBanks()
+                   * DataBuffer.getDataTypeSize(dataBuffer.getDataType()) / 8;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d images, %.1f of %d MB, %d hits, %d misses, %d evictions", name, images.size(),
+                    sizeInBytes / 1024d / 1024d, limitInBytes / 1024 / 1024, hits, misses, evictions);
+        }
+    }
+
+    /**
+     * Speichert Bilder so, wie sie gezeichnet werden: Auf die verwendete Größe skaliert und in eine von
+     * {@value NUMBER_OF_ROTATIONS} Richtungen gedreht. Beim Zeichnen muss dann nur noch kopiert werden. Die Rotation wird
+     * dabei auf die nächste vorberechnete Richtung gerundet.
+     * <p>
+     * Der Cache ist auf {@value LIMIT_IN_BYTES} Bytes begrenzt, bei Bedarf werden die am längsten nicht verwendeten
+     * Bilder entfernt. Der Cache ist nicht synchronisiert und wird nur vom Zeichen-Thread verwendet.
+     */
+    private static class SpriteCache {
+        private final static int NUMBER_OF_ROTATIONS = 64;
+        private final static long LIMIT_IN_BYTES = 32 * 1024 * 1024;
+        // Größere Bilder würden den Cache verdrängen und werden weiterhin transformiert gezeichnet.
+        private final static long LIMIT_PER_SPRITE_IN_BYTES = LIMIT_IN_BYTES / 16;
+
+        private final GraphicsConfiguration graphicsConfiguration;
+        private final LinkedHashMap<SpriteKey, Sprite> sprites;
+        private final SpriteKey lookupKey;
+        private volatile long sizeInBytes;
+
+        SpriteCache(GraphicsConfiguration graphicsConfiguration) {
+            this.graphicsConfiguration = graphicsConfiguration;
+            this.sprites = new LinkedHashMap<>(64, 0.75f, true);
+            this.lookupKey = new SpriteKey(null, 0, 0);
+        }
+
+        /**
+         * Zeichnet das Bild aus dem Cache.
+         *
+         * @return <code>false</code>, falls das Bild zu groß für den Cache ist und nicht gezeichnet wurde.
+         */
+        boolean draw(Graphics2D g2D, BufferedImage image, int x, int y, double scaleFactor, double rotation) {
+            int rotationIndex = (int) Math.round(((rotation % 360 + 360) % 360) / 360 * NUMBER_OF_ROTATIONS)
+                                % NUMBER_OF_ROTATIONS;
+            if (scaleFactor == 1 && rotationIndex == 0) {
+                g2D.drawImage(image, x, y, null);
+                return true;
+            }
+            lookupKey.image = image;
+            lookupKey.scaleFactor = scaleFactor;
+            lookupKey.rotationIndex = rotationIndex;
+            Sprite sprite = sprites.get(lookupKey);
+            if (sprite == null) {
+                sprite = createSprite(image, scaleFactor, rotationIndex);
+                if (sprite == null) {
+                    return false;
+                }
+                addSprite(new SpriteKey(image, scaleFactor, rotationIndex), sprite);
+            }
+            g2D.drawImage(sprite.image, x + sprite.offsetX, y + sprite.offsetY, null);
+            return true;
+        }
+
+        private Sprite createSprite(BufferedImage image, double scaleFactor, int rotationIndex) {
+            double scaledWidth = image.getWidth() * scaleFactor;
+            double scaledHeight = image.getHeight() * scaleFactor;
+            int width;
+            int height;
+            if (rotationIndex == 0) {
+                width = Math.max(1, (int) Math.ceil(scaledWidth));
+                height = Math.max(1, (int) Math.ceil(scaledHeight));
+            } else {
+                // Das gedrehte Bild passt in jeder Richtung in ein Quadrat mit der Diagonale als Seitenlänge.
+                width = Math.max(1, (int) Math.ceil(Math.sqrt(scaledWidth * scaledWidth + scaledHeight * scaledHeight)));
+                height = width;
+            }
+            if (4L * width * height > LIMIT_PER_SPRITE_IN_BYTES) {
+                return null;
+            }
+            BufferedImage spriteImage = graphicsConfiguration == null
+                    ? new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE)
+                    : graphicsConfiguration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+            Graphics2D spriteG2D = spriteImage.createGraphics();
+            spriteG2D.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            spriteG2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            spriteG2D.translate(width / 2.0, height / 2.0);
+            spriteG2D.rotate(2 * Math.PI * rotationIndex / NUMBER_OF_ROTATIONS);
+            spriteG2D.translate(-scaledWidth / 2, -scaledHeight / 2);
+            spriteG2D.scale(scaleFactor, scaleFactor);
+            spriteG2D.drawImage(image, 0, 0, null);
+            spriteG2D.dispose();
+            // Der Mittelpunkt bleibt an derselben Stelle wie bei der Drehung um den Mittelpunkt des Originals.
+            int offsetX = (int) Math.round(scaledWidth / 2 - width / 2.0);
+            int offsetY = (int) Math.round(scaledHeight / 2 - height / 2.0);
+            return new Sprite(spriteImage, offsetX, offsetY);
+        }
+
+        private void addSprite(SpriteKey key, Sprite sprite) {
+            long size = sizeInBytes + sprite.sizeInBytes();
+            Iterator<Sprite> leastRecentlyUsed = sprites.values().iterator();
+            while (size > LIMIT_IN_BYTES && leastRecentlyUsed.hasNext()) {
+                size -= leastRecentlyUsed.next().sizeInBytes();
+                leastRecentlyUsed.remove();
+            }
+            sprites.put(key, sprite);
+            sizeInBytes = size;
+        }
+
+        long getSizeInBytes() {
+            return sizeInBytes;
+        }
+    }
+
+    /**
+     * Schlüssel eines Bildes im SpriteCache. Die Originalbilder werden über ihre Identität verglichen.
+     */
+    private static class SpriteKey {
+        private BufferedImage image;
+        private double scaleFactor;
+        private int rotationIndex;
+
+        SpriteKey(BufferedImage image, double scaleFactor, int rotationIndex) {
+            this.image = image;
+            this.scaleFactor = scaleFactor;
+            this.rotationIndex = rotationIndex;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            SpriteKey other = (SpriteKey) o;
+            return image == other.image && scaleFactor == other.scaleFactor && rotationIndex == other.rotationIndex;
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(image) * 31 + Double.hashCode(scaleFactor)) * 31 + rotationIndex;
+        }
+    }
+
+    /**
+     * Ein vorberechnetes Bild und der Abstand seiner linken oberen Ecke zu der des Originals.
+     */
+    private static class Sprite {
+        private final BufferedImage image;
+        private final int offsetX;
+        private final int offsetY;
+
+        Sprite(BufferedImage image, int offsetX, int offsetY) {
+            this.image = image;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+        }
+
+        long sizeInBytes() {
+            return 4L * image.getWidth() * image.getHeight();
+        }
+    }
+
+    /**
+     * Lädt Bilder und Sounds parallel im Hintergrund. Geladene Dateien bleiben im Speicher, damit das Spiel während
+     * des Spielens nicht mehr auf die Festplatte zugreifen muss. Dateien, die noch nicht geladen sind, werden beim
+     * ersten Zugriff geladen, bzw. es wird auf das Laden im Hintergrund gewartet.
+     */
+    private static class Preloader {
+        private final static String MANIFEST = "manifest.txt";
+
+        private final ConcurrentHashMap<String, Future<Object>> resources;
+        private final AtomicInteger numberOfRequestedResources;
+        private final AtomicInteger numberOfLoadedResources;
+        private volatile boolean manifestLoaded;
+        private ExecutorService executorService;
+
+        Preloader() {
+            this.resources = new ConcurrentHashMap<>();
+            this.numberOfRequestedResources = new AtomicInteger();
+            this.numberOfLoadedResources = new AtomicInteger();
+        }
+
+        void preloadManifest() {
+            java.util.List<String> resourceFiles = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(Objects.requireNonNull(
+                    GameView.class.getResourceAsStream("/thd/resources/" + MANIFEST)), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.strip();
+                    if (!line.isEmpty() && !line.startsWith("#")) {
+                        resourceFiles.add(line);
+                    }
+                }
+            } catch (Exception e) {
+                System.err.println("Das Manifest \"" + MANIFEST + "\" konnte nicht gelesen werden!");
+                return;
+            }
+            preload(resourceFiles);
+            manifestLoaded = true;
+        }
+
+        synchronized void preload(java.util.List<String> resourceFiles) {
+            if (executorService == null) {
+                executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+                    Thread thread = new Thread(runnable, "GameView-Preloader");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            for (String resourceFile : resourceFiles) {
+                resources.computeIfAbsent(resourceFile, file -> {
+                    numberOfRequestedResources.incrementAndGet();
+                    return executorService.submit(() -> {
+                        Object resource = load(file);
+                        numberOfLoadedResources.incrementAndGet();
+                        return resource;
+                    });
+                });
+            }
+        }
+
+        BufferedImage getImage(String imageFile) {
+            return (BufferedImage) get(imageFile);
+        }
+
+        DecodedSound getSound(String soundFile) {
+            return (DecodedSound) get(soundFile);
+        }
+
+        private Object get(String resourceFile) {
+            Future<Object> resource = resources.get(resourceFile);
+            if (resource == null) {
+                if (manifestLoaded) {
+                    System.err.println("\"" + resourceFile + "\" fehlt im Manifest und wird während des Spiels geladen!");
+                }
+                Object loadedResource = load(resourceFile);
+                resources.putIfAbsent(resourceFile, CompletableFuture.completedFuture(loadedResource));
+                return loadedResource;
+            }
+            try {
+                return resource.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return load(resourceFile);
+            } catch (ExecutionException e) {
+                // Der Fehler wird beim erneuten Laden gemeldet.
+                return load(resourceFile);
+            }
+        }
+
+        private static Object load(String resourceFile) {
+            try {
+                if (resourceFile.toLowerCase().endsWith(".wav")) {
+                    try (AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(new BufferedInputStream(
+                            Objects.requireNonNull(GameView.class.getResourceAsStream("/thd/resources/" + resourceFile))))) {
+                        return DecodedSound.decode(audioInputStream);
+                    }
+                }
+                return Objects.requireNonNull(ImageIO.read(GameView.class.getResource("/thd/resources/" + resourceFile)));
+            } catch (Exception e) {
+                e.printStackTrace();
+                System.err.println("Datei \"" + resourceFile + "\" konnte nicht gefunden werden!");
+                System.exit(1);
+                return null;
+            }
+        }
+
+        double getProgress() {
+            int numberOfRequested = numberOfRequestedResources.get();
+            return numberOfRequested == 0 ? 1 : numberOfLoadedResources.get() / (double) numberOfRequested;
+        }
+
+        boolean isFinished() {
+            return numberOfLoadedResources.get() == numberOfRequestedResources.get();
+        }
+
+        void await() {
+            for (String resourceFile : resources.keySet()) {
+                get(resourceFile);
+            }
+        }
+    }
+
+    /**
+     * Ein dekodierter Sound, der ohne Zugriff auf die Datei abgespielt werden kann. Alle Sounds werden in das Format
+     * des Mischers umgerechnet: {@value SAMPLE_RATE} Hz, 16 Bit, Stereo.
+     */
+    private static class DecodedSound {
+        private final static float SAMPLE_RATE = 44100;
+
+        private final short[] samples;
+
+        private DecodedSound(short[] samples) {
+            this.samples = samples;
+        }
+
+        static DecodedSound decode(AudioInputStream audioInputStream) throws IOException {
+            AudioFormat sourceFormat = audioInputStream.getFormat();
+            int channels = sourceFormat.getChannels();
+            AudioFormat pcmFormat = new AudioFormat(sourceFormat.getSampleRate(), 16, channels, true, false);
+            byte[] bytes;
+            try (AudioInputStream pcmInputStream = AudioSystem.getAudioInputStream(pcmFormat, audioInputStream)) {
+                bytes = pcmInputStream.readAllBytes();
+            }
+            // Die Abtastrate wird linear interpoliert, Mono wird auf beide Kanäle verteilt.
+            int numberOfSourceFrames = bytes.length / (2 * channels);
+            double step = sourceFormat.getSampleRate() / SAMPLE_RATE;
+            int numberOfFrames = (int) (numberOfSourceFrames / step);
+            short[] samples = new short[2 * numberOfFrames];
+            for (int frame = 0; frame < numberOfFrames; frame++) {
+                double sourcePosition = frame * step;
+                int sourceFrame = (int) sourcePosition;
+                int nextSourceFrame = Math.min(sourceFrame + 1, numberOfSourceFrames - 1);
+                double fraction = sourcePosition - sourceFrame;
+                for (int channel = 0; channel < 2; channel++) {
+                    int sourceChannel = Math.min(channel, channels - 1);
+                    double sample = sample(bytes, sourceFrame, sourceChannel, channels) * (1 - fraction)
+                                    + sample(bytes, nextSourceFrame, sourceChannel, channels) * fraction;
+                    samples[2 * frame + channel] = (short) Math.round(sample);
+                }
+            }
+            return new DecodedSound(samples);
+        }
+
+        private static int sample(byte[] bytes, int frame, int channel, int channels) {
+            int offset = 2 * (frame * channels + channel);
+            return (short) ((bytes[offset] & 0xFF) | bytes[offset + 1] << 8);
         }
     }
 
@@ -1748,33 +3823,134 @@ public class GameView {
     }
 
 
+    /**
+     * Ersetzt das PaintingPanel im beschleunigten Modus. Die Bilder werden nicht vom Event-Dispatch-Thread über
+     * repaint() gezeichnet, sondern vom Zeichen-Thread direkt in die BufferStrategy.
+     */
+    private static class AcceleratedCanvas extends java.awt.Canvas {
+        private static final long serialVersionUID = 1L;
+
+        AcceleratedCanvas() {
+            setBackground(Color.BLACK);
+            setIgnoreRepaint(true);
+            // Die Tastatur wird vom Frame abgefragt, daher darf die Leinwand den Fokus nicht übernehmen.
+            setFocusable(false);
+        }
+
+        /**
+         * Die BufferStrategy kann erst erzeugt werden, wenn das Fenster angezeigt wird.
+         *
+         * @return Die BufferStrategy oder <code>null</code>, solange die Leinwand noch nicht angezeigt wird.
+         */
+        BufferStrategy getOrCreateBufferStrategy() {
+            if (!isDisplayable() || getWidth() == 0 || getHeight() == 0) {
+                return null;
+            }
+            if (getBufferStrategy() == null) {
+                createBufferStrategy(2);
+            }
+            return getBufferStrategy();
+        }
+    }
+
+    /**
+     * Ein fertiges Bild: Die Liste der PrintObjects und die Hintergrundfarbe.
+     */
+    private static class PrintBuffer {
+        private ArrayList<PrintObject> printObjects;
+        private ArrayList<PrintObject> staticPrintObjects;
+        private Color backgroundColor;
+        // Zeitpunkt des Tastendrucks, auf den dieses Bild als erstes reagiert, sonst 0
+        private long inputTimeInNanos;
+        private boolean fresh;
+
+        PrintBuffer() {
+            this.printObjects = new ArrayList<>(30000);
+            this.staticPrintObjects = new ArrayList<>();
+            this.backgroundColor = Color.black;
+        }
+    }
+
+    /**
+     * Das Fenster zeichnet die Bilder in einem eigenen Thread. Das Spiel kann so schon das nächste Bild berechnen,
+     * während das letzte noch gezeichnet wird. Die Übergabe erfolgt ohne Sperren über drei Puffer: Das Spiel füllt den
+     * hinteren Puffer, tauscht ihn gegen den mittleren und der Zeichen-Thread tauscht seinen vorderen Puffer gegen den
+     * mittleren, sobald dort ein neues Bild liegt. Bilder, die nicht rechtzeitig gezeichnet werden, werden übersprungen.
+     */
     private static class Window {
 
         private final SwingAdapter swingAdapter;
-        private long lastPrintTimeInNanos;
         private final static int FRAMES_PER_SECOND = 120;
-        private final static int NANOS_PER_FRAME = 1_000_000_000 / FRAMES_PER_SECOND;
-
-        Window(SwingAdapter swingAdapter) {
+        private final FramePacer framePacer;
+        private volatile long inputLatencyInNanoseconds;
+        private final AtomicReference<PrintBuffer> readyBuffer;
+        private PrintBuffer backBuffer;
+        private final Thread renderThread;
+        private final boolean headless;
+        private boolean offscreenRendering;
+
+        Window(SwingAdapter swingAdapter, boolean headless) {
             this.swingAdapter = swingAdapter;
-            this.lastPrintTimeInNanos = System.nanoTime();
+            this.headless = headless;
+            this.framePacer = new FramePacer(FRAMES_PER_SECOND);
+            this.readyBuffer = new AtomicReference<>(new PrintBuffer());
+            this.backBuffer = new PrintBuffer();
+            this.renderThread = new Thread(this::render, "GameView-Render");
+            this.renderThread.setDaemon(true);
+            if (!headless) {
+                this.renderThread.start();
+            }
         }
 
-        void printCanvas(Canvas canvas) {
-            swingAdapter.printToDisplay(canvas.getPrintObjects(), canvas.getBackgroundColor());
-            canvas.getPrintObjects().clear();
-            int elapsedNanosSinceLastPrint = (int) (System.nanoTime() - lastPrintTimeInNanos);
-            sleep(NANOS_PER_FRAME - elapsedNanosSinceLastPrint);
-            lastPrintTimeInNanos = System.nanoTime();
+        void printCanvas(Canvas canvas, long inputTimeInNanos) {
+            if (headless) {
+                if (offscreenRendering) {
+                    swingAdapter.printToDisplay(canvas.getPrintObjects(), canvas.getStaticPrintObjects(),
+                            canvas.getBackgroundColor());
+                }
+                canvas.getPrintObjects().clear();
+                canvas.getStaticPrintObjects().clear();
+                return;
+            }
+            PrintBuffer buffer = backBuffer;
+            buffer.backgroundColor = canvas.getBackgroundColor();
+            buffer.printObjects = canvas.exchangePrintObjects(buffer.printObjects);
+            buffer.staticPrintObjects = canvas.exchangeStaticPrintObjects(buffer.staticPrintObjects);
+            buffer.inputTimeInNanos = inputTimeInNanos;
+            buffer.fresh = true;
+            backBuffer = readyBuffer.getAndSet(buffer);
+            backBuffer.printObjects.clear();
+            backBuffer.staticPrintObjects.clear();
+            LockSupport.unpark(renderThread);
+            framePacer.awaitNextFrame();
         }
 
-        private void sleep(int nanos) {
-            try {
-                Thread.sleep(Math.max(0, nanos / 1_000_000));
-            } catch (InterruptedException ignored) {
+        private void render() {
+            PrintBuffer frontBuffer = new PrintBuffer();
+            while (true) {
+                // Nur das Spiel legt neue Bilder in den mittleren Puffer, ein neues Bild kann also nicht verloren gehen.
+                if (readyBuffer.get().fresh) {
+                    frontBuffer.fresh = false;
+                    frontBuffer = readyBuffer.getAndSet(frontBuffer);
+                    swingAdapter.printToDisplay(frontBuffer.printObjects, frontBuffer.staticPrintObjects,
+                            frontBuffer.backgroundColor);
+                    if (frontBuffer.inputTimeInNanos != 0) {
+                        inputLatencyInNanoseconds = System.nanoTime() - frontBuffer.inputTimeInNanos;
+                    }
+                } else {
+                    LockSupport.park(this);
+                }
             }
         }
 
+        FramePacer getFramePacer() {
+            return framePacer;
+        }
+
+        long getInputLatencyInNanoseconds() {
+            return inputLatencyInNanoseconds;
+        }
+
         void setStatusText(String statusText) {
             swingAdapter.setStatusText(statusText);
         }
@@ -1792,6 +3968,102 @@ public class GameView {
         }
     }
 
+    /**
+     * Wartet bis zum nächsten Bild. Der größte Teil der Wartezeit wird mit <code>LockSupport.parkNanos</code>
+     * verbracht, die letzten Mikrosekunden aktiv, da der Thread nach dem Parken oft verspätet weiterläuft. Wie lange
+     * aktiv gewartet wird, richtet sich nach der gemessenen Verspätung.
+     * <p>
+     * Die Abstände zwischen den Bildern werden in einem Histogramm mit {@value BUCKET_IN_NANOS} Nanosekunden breiten
+     * Klassen gezählt. Der Pacer wird nur vom Spiel-Thread verwendet.
+     */
+    private static class FramePacer {
+        private final static int BUCKET_IN_NANOS = 100_000;
+        private final static int NUMBER_OF_BUCKETS = 500;
+        private final static long MIN_SPIN_IN_NANOS = 50_000;
+        private final static long MAX_SPIN_IN_NANOS = 2_000_000;
+
+        private long nanosPerFrame;
+        private long nextFrameTimeInNanos;
+        private long lastFrameTimeInNanos;
+        private long parkOvershootInNanos;
+        private final long[] histogram;
+        private long numberOfIntervals;
+        private double sumOfIntervals;
+        private double sumOfSquaredIntervals;
+
+        FramePacer(int framesPerSecond) {
+            this.histogram = new long[NUMBER_OF_BUCKETS];
+            this.parkOvershootInNanos = MIN_SPIN_IN_NANOS;
+            this.lastFrameTimeInNanos = System.nanoTime();
+            this.nextFrameTimeInNanos = lastFrameTimeInNanos;
+            setFramesPerSecond(framesPerSecond);
+        }
+
+        void setFramesPerSecond(int framesPerSecond) {
+            nanosPerFrame = framesPerSecond <= 0 ? 0 : 1_000_000_000L / framesPerSecond;
+        }
+
+        void awaitNextFrame() {
+            nextFrameTimeInNanos += nanosPerFrame;
+            long now = System.nanoTime();
+            // Nach einer längeren Pause wird nicht mit schnelleren Bildern aufgeholt.
+            if (now - nextFrameTimeInNanos > nanosPerFrame) {
+                nextFrameTimeInNanos = now;
+            }
+            long spinInNanos = Math.max(MIN_SPIN_IN_NANOS, Math.min(MAX_SPIN_IN_NANOS, 2 * parkOvershootInNanos));
+            long remainingNanos = nextFrameTimeInNanos - now;
+            while (remainingNanos > spinInNanos) {
+                long parkInNanos = remainingNanos - spinInNanos;
+                LockSupport.parkNanos(parkInNanos);
+                long afterPark = System.nanoTime();
+                parkOvershootInNanos += (Math.max(0, afterPark - now - parkInNanos) - parkOvershootInNanos) / 8;
+                now = afterPark;
+                remainingNanos = nextFrameTimeInNanos - now;
+            }
+            while (nextFrameTimeInNanos - now > 0) {
+                Thread.onSpinWait();
+                now = System.nanoTime();
+            }
+            recordInterval(now - lastFrameTimeInNanos);
+            lastFrameTimeInNanos = now;
+        }
+
+        private void recordInterval(long intervalInNanos) {
+            histogram[(int) Math.min(NUMBER_OF_BUCKETS - 1, intervalInNanos / BUCKET_IN_NANOS)]++;
+            numberOfIntervals++;
+            sumOfIntervals += intervalInNanos;
+            sumOfSquaredIntervals += (double) intervalInNanos * intervalInNanos;
+        }
+
+        long[] getHistogram() {
+            return histogram.clone();
+        }
+
+        private double percentileInMilliseconds(double percentile) {
+            long rank = (long) Math.ceil(percentile / 100 * numberOfIntervals);
+            long count = 0;
+            for (int bucket = 0; bucket < histogram.length; bucket++) {
+                count += histogram[bucket];
+                if (count >= rank) {
+                    return (bucket + 1) * BUCKET_IN_NANOS / 1e6;
+                }
+            }
+            return NUMBER_OF_BUCKETS * BUCKET_IN_NANOS / 1e6;
+        }
+
+        String getStatistics() {
+            if (numberOfIntervals == 0) {
+                return "no frames";
+            }
+            double mean = sumOfIntervals / numberOfIntervals;
+            double standardDeviation = Math.sqrt(Math.max(0, sumOfSquaredIntervals / numberOfIntervals - mean * mean));
+            return String.format("target %.2f ms, %d frames, mean %.3f ms, jitter (standard deviation) %.3f ms, "
+                                 + "p50 %.1f ms, p99 %.1f ms, p99.9 %.1f ms", nanosPerFrame / 1e6, numberOfIntervals,
+                    mean / 1e6, standardDeviation / 1e6, percentileInMilliseconds(50), percentileInMilliseconds(99),
+                    percentileInMilliseconds(99.9));
+        }
+    }
+
     private static class StartScreenWithChooseBox {
         private final GameView gameView;
 
@@ -1866,6 +4138,7 @@ public class GameView {
                 addDescription();
                 selectionBox.addSelectionBox(xSelectionBox, ySelectionBox);
                 addEnterField();
+                gameView.addPreloadingProgressToCanvas();
                 gameView.printCanvas();
             }
             gameView.useMouse(useMouseBackup);
@@ -2229,6 +4502,7 @@ public class GameView {
                 addTitle();
                 gameView.addTextToCanvas(description, gap, titleHeight + gap, fontSize, Color.WHITE, 0);
                 simpleBoxes.forEach(s -> s.addToCanvas(gameView));
+                gameView.addPreloadingProgressToCanvas();
                 gameView.printCanvas();
             }
             gameView.useMouse(useMouseBackup);